@@ -0,0 +1,31 @@
+package me.study.datajpa.benchmark;
+
+import me.study.datajpa.StudySpringDataJpaApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+public class BenchmarkApplication {
+
+    public static ConfigurableApplicationContext start(String database, String... properties) {
+        return new SpringApplicationBuilder(StudySpringDataJpaApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                        "decorator.datasource.p6spy.enable-logging=false",
+                        "logging.level.root=warn",
+                        "logging.level.org.hibernate.SQL=warn")
+                .properties(properties)
+                .run();
+    }
+
+    public static TransactionTemplate transactionTemplate(ConfigurableApplicationContext context, boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate;
+    }
+}
@@ -0,0 +1,83 @@
+package me.study.datajpa.benchmark;
+
+import me.study.datajpa.entity.Member;
+import me.study.datajpa.entity.Team;
+import me.study.datajpa.repository.MemberRepository;
+import me.study.datajpa.service.BulkIngestionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FetchStrategyBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private TransactionTemplate readOnly;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("fetch");
+        memberRepository = context.getBean(MemberRepository.class);
+        readOnly = BenchmarkApplication.transactionTemplate(context, true);
+
+        List<Object> entities = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Team team = new Team("Team" + i);
+            entities.add(team);
+            for (int j = 0; j < 10; j++) {
+                entities.add(new Member("Member" + i + "_" + j, j, team));
+            }
+        }
+        context.getBean(BulkIngestionService.class).ingest(entities);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void fetchJoin(Blackhole blackhole) {
+        readOnly.execute(status -> {
+            consumeTeams(memberRepository.findMemberFetchJoin(), blackhole);
+            return null;
+        });
+    }
+
+    @Benchmark
+    public void entityGraph(Blackhole blackhole) {
+        readOnly.execute(status -> {
+            consumeTeams(memberRepository.findMemberEntityGraph(), blackhole);
+            return null;
+        });
+    }
+
+    @Benchmark
+    public void lazyLoading(Blackhole blackhole) {
+        readOnly.execute(status -> {
+            consumeTeams(memberRepository.findMemberCustom(), blackhole);
+            return null;
+        });
+    }
+
+    private void consumeTeams(List<Member> members, Blackhole blackhole) {
+        for (Member member : members) {
+            blackhole.consume(member.getTeam().getName());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package me.study.datajpa.benchmark;
+
+import me.study.datajpa.entity.Member;
+import me.study.datajpa.repository.MemberRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class IndexBenchmark {
+
+    private static final int ROWS = 1_000_000;
+    private static final int BATCH_SIZE = 10_000;
+
+    @Param({"true", "false"})
+    private boolean indexed;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private TransactionTemplate readOnly;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("index");
+        memberRepository = context.getBean(MemberRepository.class);
+        readOnly = BenchmarkApplication.transactionTemplate(context, true);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Object[]{(long) i + 1, String.format("Member%07d", i), i % 100});
+            if (rows.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate("insert into member (member_id, username, age, version) values (?, ?, ?, 0)", rows);
+                rows.clear();
+            }
+        }
+        if (!indexed) {
+            jdbcTemplate.execute("drop index idx_member_username_age");
+            jdbcTemplate.execute("drop index idx_member_age");
+        }
+        jdbcTemplate.execute("analyze");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Member> findByUsername() {
+        String username = String.format("Member%07d", ThreadLocalRandom.current().nextInt(ROWS));
+        return readOnly.execute(status -> memberRepository.findByUsername(username));
+    }
+
+    @Benchmark
+    public List<Member> findByUsernameAndAgeGreaterThan() {
+        String username = String.format("Member%07d", ThreadLocalRandom.current().nextInt(ROWS));
+        return readOnly.execute(status -> memberRepository.findByUsernameAndAgeGreaterThan(username, 10));
+    }
+
+    @Benchmark
+    public List<Member> findListByAge() {
+        int age = ThreadLocalRandom.current().nextInt(100);
+        return readOnly.execute(status -> memberRepository.findListByAge(age, PageRequest.of(0, 20)));
+    }
+}
@@ -0,0 +1,66 @@
+package me.study.datajpa.benchmark;
+
+import me.study.datajpa.entity.Member;
+import me.study.datajpa.repository.MemberRepository;
+import me.study.datajpa.service.MemberService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class LockBenchmark {
+
+    private static final String USERNAME = "LockMember";
+
+    private ConfigurableApplicationContext context;
+    private MemberService memberService;
+    private Long memberId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("lock");
+        memberService = context.getBean(MemberService.class);
+        memberId = context.getBean(MemberRepository.class).save(new Member(USERNAME, 0)).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Member optimisticAddAge(Outcomes outcomes) {
+        try {
+            return memberService.addAge(memberId, 1);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            outcomes.gaveUp++;
+            return null;
+        }
+    }
+
+    @Benchmark
+    public Member pessimisticAddAge() {
+        return memberService.addAgeWithLock(USERNAME, 1);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+
+        public long gaveUp;
+    }
+}
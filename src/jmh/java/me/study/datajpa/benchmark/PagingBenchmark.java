@@ -0,0 +1,78 @@
+package me.study.datajpa.benchmark;
+
+import me.study.datajpa.entity.Member;
+import me.study.datajpa.repository.MemberJpaRepository;
+import me.study.datajpa.repository.MemberRepository;
+import me.study.datajpa.service.BulkIngestionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PagingBenchmark {
+
+    private static final int AGE = 10;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"0", "50", "450"})
+    private int pageNumber;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private MemberJpaRepository memberJpaRepository;
+    private TransactionTemplate readOnly;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("paging");
+        memberRepository = context.getBean(MemberRepository.class);
+        memberJpaRepository = context.getBean(MemberJpaRepository.class);
+        readOnly = BenchmarkApplication.transactionTemplate(context, true);
+
+        List<Object> members = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE * 500; i++) {
+            members.add(new Member(String.format("Member%05d", i), AGE));
+        }
+        context.getBean(BulkIngestionService.class).ingest(members);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Member> page() {
+        PageRequest pageRequest = PageRequest.of(pageNumber, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "username"));
+        return readOnly.execute(status -> memberRepository.findPageByAge(AGE, pageRequest));
+    }
+
+    @Benchmark
+    public Slice<Member> slice() {
+        PageRequest pageRequest = PageRequest.of(pageNumber, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "username"));
+        return readOnly.execute(status -> memberRepository.findSliceByAge(AGE, pageRequest));
+    }
+
+    @Benchmark
+    public List<Member> rawOffset() {
+        return readOnly.execute(status -> memberJpaRepository.findByPage(AGE, pageNumber * PAGE_SIZE, PAGE_SIZE));
+    }
+}
@@ -0,0 +1,108 @@
+package me.study.datajpa.benchmark;
+
+import me.study.datajpa.entity.Member;
+import me.study.datajpa.entity.Team;
+import me.study.datajpa.repository.MemberRepository;
+import me.study.datajpa.repository.NestedClosedProjections;
+import me.study.datajpa.repository.UsernameOnly;
+import me.study.datajpa.repository.UsernameOnlyDto;
+import me.study.datajpa.service.BulkIngestionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProjectionBenchmark {
+
+    private static final String USERNAME = "Member";
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private TransactionTemplate readOnly;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("projection");
+        memberRepository = context.getBean(MemberRepository.class);
+        readOnly = BenchmarkApplication.transactionTemplate(context, true);
+
+        List<Object> entities = new ArrayList<>();
+        Team team = new Team("TeamA");
+        entities.add(team);
+        for (int i = 0; i < 100; i++) {
+            entities.add(new Member(USERNAME, i, team));
+        }
+        context.getBean(BulkIngestionService.class).ingest(entities);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void interfaceProjection(Blackhole blackhole) {
+        readOnly.execute(status -> {
+            for (UsernameOnly usernameOnly : memberRepository.findProjectionsByUsername(USERNAME)) {
+                blackhole.consume(usernameOnly.getUsername());
+            }
+            return null;
+        });
+    }
+
+    @Benchmark
+    public void dtoProjection(Blackhole blackhole) {
+        readOnly.execute(status -> {
+            for (UsernameOnlyDto usernameOnlyDto : memberRepository.findProjectionsDtoByUsername(USERNAME)) {
+                blackhole.consume(usernameOnlyDto.getUsername());
+            }
+            return null;
+        });
+    }
+
+    @Benchmark
+    public void dynamicProjection(Blackhole blackhole) {
+        readOnly.execute(status -> {
+            for (NestedClosedProjections projection : memberRepository.findProjectionsDynamicByUsername(USERNAME, NestedClosedProjections.class)) {
+                blackhole.consume(projection.getUsername());
+                blackhole.consume(projection.getTeam().getName());
+            }
+            return null;
+        });
+    }
+
+    @Benchmark
+    public void compiledInterfaceProjection(Blackhole blackhole) {
+        readOnly.execute(status -> {
+            for (UsernameOnly usernameOnly : memberRepository.findCompiledProjectionsByUsername(USERNAME, UsernameOnly.class)) {
+                blackhole.consume(usernameOnly.getUsername());
+            }
+            return null;
+        });
+    }
+
+    @Benchmark
+    public void compiledDynamicProjection(Blackhole blackhole) {
+        readOnly.execute(status -> {
+            for (NestedClosedProjections projection : memberRepository.findCompiledProjectionsByUsername(USERNAME, NestedClosedProjections.class)) {
+                blackhole.consume(projection.getUsername());
+                blackhole.consume(projection.getTeam().getName());
+            }
+            return null;
+        });
+    }
+}
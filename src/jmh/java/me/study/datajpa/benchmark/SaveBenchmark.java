@@ -0,0 +1,50 @@
+package me.study.datajpa.benchmark;
+
+import me.study.datajpa.entity.Item;
+import me.study.datajpa.entity.Member;
+import me.study.datajpa.repository.ItemRepository;
+import me.study.datajpa.repository.MemberRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SaveBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private ItemRepository itemRepository;
+    private MemberRepository memberRepository;
+    private long sequence;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("save");
+        itemRepository = context.getBean(ItemRepository.class);
+        memberRepository = context.getBean(MemberRepository.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Item persistableItem() {
+        return itemRepository.save(new Item("Item" + sequence++));
+    }
+
+    @Benchmark
+    public Member generatedIdMember() {
+        return memberRepository.save(new Member("Member" + sequence++, 10));
+    }
+}
@@ -0,0 +1,76 @@
+package me.study.datajpa.benchmark;
+
+import me.study.datajpa.dto.MemberSearchCondition;
+import me.study.datajpa.entity.Member;
+import me.study.datajpa.entity.Team;
+import me.study.datajpa.repository.MemberRepository;
+import me.study.datajpa.repository.MemberSpec;
+import me.study.datajpa.service.BulkIngestionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SpecificationBenchmark {
+
+    private static final int TEAMS = 10;
+    private static final int MEMBERS_PER_TEAM = 100;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private TransactionTemplate readOnly;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("specification");
+        memberRepository = context.getBean(MemberRepository.class);
+        readOnly = BenchmarkApplication.transactionTemplate(context, true);
+
+        List<Object> entities = new ArrayList<>();
+        for (int i = 0; i < TEAMS; i++) {
+            Team team = new Team("Team" + i);
+            entities.add(team);
+            for (int j = 0; j < MEMBERS_PER_TEAM; j++) {
+                entities.add(new Member("Member" + (i * MEMBERS_PER_TEAM + j), j, team));
+            }
+        }
+        context.getBean(BulkIngestionService.class).ingest(entities);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Member> criteriaSpecification() {
+        int member = ThreadLocalRandom.current().nextInt(TEAMS * MEMBERS_PER_TEAM);
+        String username = "Member" + member;
+        String teamName = "Team" + member / MEMBERS_PER_TEAM;
+        return readOnly.execute(status ->
+                memberRepository.findAll(MemberSpec.username(username).and(MemberSpec.teamName(teamName))));
+    }
+
+    @Benchmark
+    public List<Member> cachedSpecificationShape() {
+        int member = ThreadLocalRandom.current().nextInt(TEAMS * MEMBERS_PER_TEAM);
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsername("Member" + member);
+        condition.setTeamName("Team" + member / MEMBERS_PER_TEAM);
+        return readOnly.execute(status -> memberRepository.search(condition));
+    }
+}
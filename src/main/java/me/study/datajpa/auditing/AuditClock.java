@@ -0,0 +1,71 @@
+package me.study.datajpa.auditing;
+
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+
+public final class AuditClock {
+
+    private static final Object RESOURCE_KEY = new Object();
+
+    private AuditClock() {
+    }
+
+    public static LocalDateTime now() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return LocalDateTime.now();
+        }
+
+        Tick tick = (Tick) TransactionSynchronizationManager.getResource(RESOURCE_KEY);
+        if (tick == null) {
+            tick = new Tick();
+            TransactionSynchronizationManager.bindResource(RESOURCE_KEY, tick);
+            TransactionSynchronizationManager.registerSynchronization(new TickSynchronization(tick));
+        }
+        if (tick.value == null) {
+            tick.value = LocalDateTime.now();
+        }
+        return tick.value;
+    }
+
+    public static void reset() {
+        Tick tick = (Tick) TransactionSynchronizationManager.getResource(RESOURCE_KEY);
+        if (tick != null) {
+            tick.value = null;
+        }
+    }
+
+    private static final class Tick {
+
+        private LocalDateTime value;
+    }
+
+    /**
+     * Keeps the tick bound to the transaction that created it: a REQUIRES_NEW transaction suspends it and starts
+     * its own, and completion only unbinds the tick of the completing transaction.
+     */
+    private static final class TickSynchronization extends TransactionSynchronizationAdapter {
+
+        private final Tick tick;
+
+        private TickSynchronization(Tick tick) {
+            this.tick = tick;
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(RESOURCE_KEY);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(RESOURCE_KEY, tick);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(RESOURCE_KEY);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package me.study.datajpa.auditing;
+
+import org.hibernate.EmptyInterceptor;
+
+import java.util.Iterator;
+
+public class AuditClockInterceptor extends EmptyInterceptor {
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void postFlush(Iterator entities) {
+        AuditClock.reset();
+    }
+}
@@ -0,0 +1,48 @@
+package me.study.datajpa.auditing;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.auditing.DateTimeProvider;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Optional;
+
+@Configuration
+public class AuditingConfig {
+
+    @Bean
+    public AuditorAware<Long> auditorProvider(@Value("${datajpa.auditing.user-id-header:X-User-Id}") String userIdHeader,
+                                              @Value("${datajpa.auditing.system-auditor-id:0}") long systemAuditorId) {
+        return new TransactionScopedAuditorAware<>(() ->
+                Optional.of(requestUserId(userIdHeader).orElse(systemAuditorId)));
+    }
+
+    @Bean
+    public DateTimeProvider auditingDateTimeProvider() {
+        return () -> Optional.of(AuditClock.now());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer auditClockInterceptorCustomizer() {
+        return properties -> properties.put(AvailableSettings.INTERCEPTOR, new AuditClockInterceptor());
+    }
+
+    private static Optional<Long> requestUserId(String userIdHeader) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return Optional.empty();
+        }
+        String userId = ((ServletRequestAttributes) attributes).getRequest().getHeader(userIdHeader);
+        try {
+            return userId == null ? Optional.empty() : Optional.of(Long.valueOf(userId));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package me.study.datajpa.auditing;
+
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+public class TransactionScopedAuditorAware<T> implements AuditorAware<T> {
+
+    private final Supplier<Optional<T>> resolver;
+
+    public TransactionScopedAuditorAware(Supplier<Optional<T>> resolver) {
+        this.resolver = resolver;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<T> getCurrentAuditor() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return resolver.get();
+        }
+
+        Optional<T> auditor = (Optional<T>) TransactionSynchronizationManager.getResource(this);
+        if (auditor == null) {
+            auditor = resolver.get();
+            TransactionSynchronizationManager.bindResource(this, auditor);
+            TransactionSynchronizationManager.registerSynchronization(new AuditorSynchronization(auditor));
+        }
+        return auditor;
+    }
+
+    private class AuditorSynchronization extends TransactionSynchronizationAdapter {
+
+        private final Optional<T> auditor;
+
+        private AuditorSynchronization(Optional<T> auditor) {
+            this.auditor = auditor;
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(TransactionScopedAuditorAware.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(TransactionScopedAuditorAware.this, auditor);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TransactionScopedAuditorAware.this);
+        }
+    }
+}
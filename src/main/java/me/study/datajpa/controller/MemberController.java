@@ -2,20 +2,43 @@ package me.study.datajpa.controller;
 
 import lombok.RequiredArgsConstructor;
 import me.study.datajpa.dto.MemberDto;
+import me.study.datajpa.dto.MemberSearchCondition;
 import me.study.datajpa.entity.Member;
+import me.study.datajpa.monitoring.SqlBudget;
+import me.study.datajpa.repository.AsyncMemberRepository;
+import me.study.datajpa.repository.InvalidKeysetRequestException;
+import me.study.datajpa.repository.KeysetSlice;
 import me.study.datajpa.repository.MemberRepository;
+import me.study.datajpa.service.ExportFormat;
+import me.study.datajpa.service.MemberExportService;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequiredArgsConstructor
 public class MemberController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final MemberRepository memberRepository;
+    private final AsyncMemberRepository asyncMemberRepository;
+    private final MemberExportService memberExportService;
 
     @GetMapping("/members/{id}")
     public String findMember(@PathVariable("id") Long id) {
@@ -28,10 +51,54 @@ public class MemberController {
         return member.getUsername();
     }
 
+    @SqlBudget(maxStatements = 2)
     @GetMapping("/members")
-    public Page<MemberDto> list(@PageableDefault(size = 5, sort = "username") Pageable pageable) {
-        Page<Member> page = memberRepository.findAll(pageable);
-        return page.map(MemberDto::new);
+    public Page<MemberDto> list(@PageableDefault(size = 5, sort = "username") Pageable pageable,
+                                @RequestParam(value = "estimate", defaultValue = "false") boolean estimate) {
+        return memberRepository.findMemberDtoPage(pageable, estimate);
+    }
+
+    @SqlBudget(maxStatements = 1)
+    @GetMapping("/members/keyset")
+    public KeysetSlice<MemberDto> keysetList(@RequestParam(value = "token", required = false) String token,
+                                             @RequestParam(value = "size", defaultValue = "5") int size) {
+        KeysetSlice<Member> slice = memberRepository.findKeysetPage(token, Math.min(size, MAX_PAGE_SIZE));
+        return slice.map(MemberDto::new);
+    }
+
+    @GetMapping("/async/members/{id}")
+    public CompletableFuture<ResponseEntity<MemberDto>> findMemberAsync(@PathVariable("id") Long id) {
+        return asyncMemberRepository.findById(id)
+                .thenApply(member -> member.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build()));
+    }
+
+    @GetMapping("/async/members")
+    public CompletableFuture<Page<MemberDto>> listAsync(@PageableDefault(size = 5, sort = "username") Pageable pageable,
+                                                        @RequestParam(value = "estimate", defaultValue = "false") boolean estimate) {
+        return asyncMemberRepository.findMemberDtoPage(pageable, estimate);
+    }
+
+    @GetMapping("/async/members/search")
+    public CompletableFuture<List<MemberDto>> searchAsync(MemberSearchCondition condition) {
+        return asyncMemberRepository.search(condition);
+    }
+
+    @ExceptionHandler(InvalidKeysetRequestException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public void badRequest() {
+    }
+
+    @ExceptionHandler(TaskRejectedException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public void rejected() {
+    }
+
+    @GetMapping("/members/export")
+    public void export(@RequestParam(value = "format", defaultValue = "NDJSON") ExportFormat format,
+                       HttpServletResponse response) throws IOException {
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        memberExportService.export(format, response.getWriter());
     }
 
 //    @PostConstruct
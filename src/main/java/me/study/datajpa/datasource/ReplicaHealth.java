@@ -0,0 +1,96 @@
+package me.study.datajpa.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class ReplicaHealth implements HealthIndicator, InitializingBean, DisposableBean {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+    private final DataSource replica;
+    private final String lagQuery;
+    private final Duration maxLag;
+    private final Duration probeInterval;
+
+    private ScheduledExecutorService scheduler;
+    private volatile boolean available;
+    private volatile Duration lag = Duration.ZERO;
+
+    public ReplicaHealth(DataSource replica, String lagQuery, Duration maxLag, Duration probeInterval) {
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+        this.probeInterval = probeInterval;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        probe();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = probeInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::probe, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = isAvailable() ? Health.up() : Health.down();
+        return builder
+                .withDetail("lag", lag.toMillis() + "ms")
+                .withDetail("maxLag", maxLag.toMillis() + "ms")
+                .build();
+    }
+
+    void probe() {
+        boolean wasAvailable = available;
+        try (Connection connection = replica.getConnection()) {
+            lag = StringUtils.hasText(lagQuery) ? queryLag(connection) : Duration.ZERO;
+            available = connection.isValid(VALIDATION_TIMEOUT_SECONDS) && lag.compareTo(maxLag) <= 0;
+        } catch (Exception e) {
+            log.debug("Replica probe failed", e);
+            available = false;
+        }
+
+        if (wasAvailable != available) {
+            log.warn("Replica {}, lag {} ms", available ? "is back in rotation" : "is unavailable, routing reads to primary", lag.toMillis());
+        }
+    }
+
+    private Duration queryLag(Connection connection) throws Exception {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(lagQuery)) {
+            if (!rs.next()) {
+                return Duration.ZERO;
+            }
+            return Duration.ofMillis((long) (rs.getDouble(1) * 1000));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package me.study.datajpa.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class ReplicationRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private final ReplicaHealth replicaHealth;
+
+    public ReplicationRoutingDataSource(ReplicaHealth replicaHealth) {
+        this.replicaHealth = replicaHealth;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && replicaHealth.isAvailable()) {
+            return Target.REPLICA;
+        }
+        return Target.PRIMARY;
+    }
+}
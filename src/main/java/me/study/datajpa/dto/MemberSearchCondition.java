@@ -0,0 +1,12 @@
+package me.study.datajpa.dto;
+
+import lombok.Data;
+
+@Data
+public class MemberSearchCondition {
+
+    private String username;
+    private String teamName;
+    private Integer ageGoe;
+    private Integer ageLoe;
+}
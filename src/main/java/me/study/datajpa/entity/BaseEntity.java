@@ -26,8 +26,8 @@ public class BaseEntity {
 
     @CreatedBy
     @Column(updatable = false)
-    private String createBy;
+    private Long createBy;
 
     @LastModifiedBy
-    private String lastModifiedBy;
+    private Long lastModifiedBy;
 }
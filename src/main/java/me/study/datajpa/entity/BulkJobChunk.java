@@ -0,0 +1,60 @@
+package me.study.datajpa.entity;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString(of = {"id", "jobName", "fromId", "toId", "status"})
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_bulk_job_chunk_job_name_from_id", columnNames = {"jobName", "fromId"}))
+@SequenceGenerator(name = "bulk_job_chunk_seq_generator", sequenceName = "bulk_job_chunk_seq", allocationSize = 50)
+public class BulkJobChunk {
+
+    public enum Status {
+        PENDING, COMPLETED, FAILED
+    }
+
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bulk_job_chunk_seq_generator")
+    @Column(name = "bulk_job_chunk_id")
+    private Long id;
+    private String jobName;
+    private long fromId;
+    private long toId;
+
+    @Enumerated(EnumType.STRING)
+    private Status status = Status.PENDING;
+    private int updatedRows;
+    private int attempts;
+    private String lastError;
+    private LocalDateTime completedDate;
+
+    public BulkJobChunk(String jobName, long fromId, long toId) {
+        this.jobName = jobName;
+        this.fromId = fromId;
+        this.toId = toId;
+    }
+
+    public boolean isCompleted() {
+        return status == Status.COMPLETED;
+    }
+
+    public void complete(int updatedRows) {
+        this.status = Status.COMPLETED;
+        this.updatedRows = updatedRows;
+        this.attempts++;
+        this.lastError = null;
+        this.completedDate = LocalDateTime.now();
+    }
+
+    public void fail(String error) {
+        this.status = Status.FAILED;
+        this.attempts++;
+        this.lastError = error != null && error.length() > 255 ? error.substring(0, 255) : error;
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.domain.Persistable;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.EntityListeners;
 import javax.persistence.Id;
@@ -20,6 +21,7 @@ public class Item implements Persistable<String> {
     private String id;
 
     @CreatedDate
+    @Column(updatable = false)
     private LocalDateTime createdDate;
 
     public Item(String id) {
@@ -31,6 +33,10 @@ public class Item implements Persistable<String> {
         return id;
     }
 
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+
     @Override
     public boolean isNew() {
         return createdDate == null;
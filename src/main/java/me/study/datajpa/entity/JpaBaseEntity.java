@@ -1,6 +1,7 @@
 package me.study.datajpa.entity;
 
 import lombok.Getter;
+import me.study.datajpa.auditing.AuditClock;
 
 import javax.persistence.Column;
 import javax.persistence.MappedSuperclass;
@@ -18,13 +19,13 @@ public class JpaBaseEntity {
 
     @PrePersist
     public void prePersist() {
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = AuditClock.now();
         createdDate = now;
         updatedDate = now;
     }
 
     @PreUpdate
     public void preUpdate() {
-        updatedDate = LocalDateTime.now();
+        updatedDate = AuditClock.now();
     }
 }
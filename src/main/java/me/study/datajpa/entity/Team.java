@@ -1,23 +1,37 @@
 package me.study.datajpa.entity;
 
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.OptimisticLock;
 
 import javax.persistence.*;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Table(indexes = @Index(name = "idx_team_name", columnList = "name"))
 @Getter @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "name"})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "team")
+@SequenceGenerator(name = "team_seq_generator", sequenceName = "team_seq", allocationSize = 50)
 public class Team extends BaseEntity {
 
-    @Id @GeneratedValue
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "team_seq_generator")
     @Column(name = "team_id")
     private Long id;
     private String name;
 
+    @Version
+    @Setter(AccessLevel.NONE)
+    private Long version;
+
     @OneToMany(mappedBy = "team")
+    @BatchSize(size = 100)
+    @OptimisticLock(excluded = true)
     private List<Member> members = new ArrayList<>();
 
     public Team(String name) {
@@ -0,0 +1,47 @@
+package me.study.datajpa.monitoring;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.metamodel.EntityType;
+import java.util.function.ToDoubleFunction;
+
+@Component
+@ConditionalOnProperty(name = "datajpa.hibernate-statistics.enabled", havingValue = "true")
+public class HibernateEntityMetrics implements MeterBinder {
+
+    private final SessionFactory sessionFactory;
+    private final Statistics statistics;
+
+    public HibernateEntityMetrics(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.statistics = sessionFactory.getStatistics();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (EntityType<?> entityType : sessionFactory.getMetamodel().getEntities()) {
+            String entityName = entityType.getJavaType().getName();
+            String entity = entityType.getName();
+            bindEntityCounter(registry, "hibernate.entity.loads", entity, entityName, EntityStatistics::getLoadCount);
+            bindEntityCounter(registry, "hibernate.entity.fetches", entity, entityName, EntityStatistics::getFetchCount);
+            bindEntityCounter(registry, "hibernate.entity.inserts", entity, entityName, EntityStatistics::getInsertCount);
+            bindEntityCounter(registry, "hibernate.entity.updates", entity, entityName, EntityStatistics::getUpdateCount);
+            bindEntityCounter(registry, "hibernate.entity.deletes", entity, entityName, EntityStatistics::getDeleteCount);
+        }
+    }
+
+    private void bindEntityCounter(MeterRegistry registry, String name, String entity, String entityName,
+                                   ToDoubleFunction<EntityStatistics> count) {
+        FunctionCounter.builder(name, statistics, it -> count.applyAsDouble(it.getEntityStatistics(entityName)))
+                .tag("entity", entity)
+                .register(registry);
+    }
+}
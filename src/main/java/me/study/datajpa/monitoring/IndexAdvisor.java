@@ -0,0 +1,366 @@
+package me.study.datajpa.monitoring;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.query.spi.HQLQueryPlan;
+import org.hibernate.engine.spi.NamedQueryDefinition;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.type.EntityType;
+import org.hibernate.type.Type;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.mapping.PropertyPath;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "datajpa.index-advisor.enabled", havingValue = "true")
+public class IndexAdvisor {
+
+    private static final Pattern TABLE_ALIAS = Pattern.compile("\\b(?:from|join)\\s+(\\w+)\\s+(\\w+)");
+    private static final Pattern DML_TABLE = Pattern.compile("^\\s*(?:update|delete\\s+from)\\s+(\\w+)");
+    private static final Pattern JOIN_ON = Pattern.compile(
+            "\\bjoin\\s+\\w+\\s+(\\w+)\\s+on\\s+(.+?)(?=\\b(?:left|right|inner|cross|full|join|where|order|group)\\b|$)");
+    private static final Pattern JOIN_CONDITION = Pattern.compile("(\\w+)\\.(\\w+)\\s*=\\s*(\\w+)\\.(\\w+)");
+    private static final Pattern WHERE = Pattern.compile("\\bwhere\\b(.+?)(?=\\border\\s+by\\b|\\bgroup\\s+by\\b|$)");
+    private static final Pattern ORDER_BY = Pattern.compile("\\border\\s+by\\b(.+)$");
+    private static final Pattern PREDICATE = Pattern.compile(
+            "(?:(\\w+)\\.)?(\\w+)\\s*(>=|<=|<>|!=|=|>|<|\\bin\\b|\\blike\\b|\\bbetween\\b|\\bis\\b)\\s*(\\w+\\.\\w+)?");
+    private static final Pattern COLUMN = Pattern.compile("(?:(\\w+)\\.)?(\\w+)");
+    private static final Set<String> KEYWORDS = new HashSet<>(Arrays.asList(
+            "and", "or", "not", "where", "on", "set", "select", "from", "exists", "null", "asc", "desc"));
+    private static final Set<Part.Type> EQUALITY = EnumSet.of(
+            Part.Type.SIMPLE_PROPERTY, Part.Type.IN, Part.Type.IS_NULL, Part.Type.TRUE, Part.Type.FALSE);
+    private static final Set<Part.Type> RANGE = EnumSet.of(
+            Part.Type.BETWEEN, Part.Type.GREATER_THAN, Part.Type.GREATER_THAN_EQUAL, Part.Type.LESS_THAN,
+            Part.Type.LESS_THAN_EQUAL, Part.Type.AFTER, Part.Type.BEFORE, Part.Type.STARTING_WITH, Part.Type.LIKE);
+
+    private final ListableBeanFactory beanFactory;
+    private final EntityManagerFactory entityManagerFactory;
+    private final SessionFactoryImplementor sessionFactory;
+    private final DataSource dataSource;
+    private final ObjectProvider<SpecificationSample<?>> specificationSamples;
+
+    public IndexAdvisor(ListableBeanFactory beanFactory, EntityManagerFactory entityManagerFactory,
+                        DataSource dataSource, ObjectProvider<SpecificationSample<?>> specificationSamples) {
+        this.beanFactory = beanFactory;
+        this.entityManagerFactory = entityManagerFactory;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.dataSource = dataSource;
+        this.specificationSamples = specificationSamples;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        List<IndexAdvice> advice = analyze();
+        advice.forEach(it -> log.warn("Missing index for {}: {}", it.getSources(), it.getDdl()));
+        log.info("Index advisor checked repository queries, {} missing index(es)", advice.size());
+    }
+
+    public List<IndexAdvice> analyze() {
+        Map<String, List<Shape>> shapes = new LinkedHashMap<>();
+
+        Repositories repositories = new Repositories(beanFactory);
+        for (Class<?> domainType : repositories) {
+            RepositoryInformation information = repositories.getRequiredRepositoryInformation(domainType);
+            for (Method method : information.getQueryMethods()) {
+                String source = information.getRepositoryInterface().getSimpleName() + "." + method.getName();
+                try {
+                    shapes.put(source, queryMethodShapes(domainType, method));
+                } catch (RuntimeException e) {
+                    log.debug("Skipping index analysis of {}", source, e);
+                }
+            }
+        }
+
+        for (SpecificationSample<?> sample : specificationSamples) {
+            shapes.put(sample.getName(), specificationShapes(sample));
+        }
+
+        return advise(shapes);
+    }
+
+    public List<IndexAdvice> analyzeJpql(String source, String jpql) {
+        return advise(Collections.singletonMap(source, sqlShapes(jpql)));
+    }
+
+    private List<Shape> queryMethodShapes(Class<?> domainType, Method method) {
+        Query query = AnnotatedElementUtils.findMergedAnnotation(method, Query.class);
+        if (query != null && query.nativeQuery()) {
+            return Collections.emptyList();
+        }
+        if (query != null && StringUtils.hasText(query.value())) {
+            return sqlShapes(query.value());
+        }
+
+        String queryName = query != null && StringUtils.hasText(query.name())
+                ? query.name() : domainType.getSimpleName() + "." + method.getName();
+        NamedQueryDefinition namedQuery = sessionFactory.getNamedQueryRepository().getNamedQueryDefinition(queryName);
+        if (namedQuery != null) {
+            return sqlShapes(namedQuery.getQueryString());
+        }
+        return partTreeShapes(domainType, new PartTree(method.getName(), domainType));
+    }
+
+    private List<Shape> partTreeShapes(Class<?> domainType, PartTree tree) {
+        Map<String, Shape> shapes = new LinkedHashMap<>();
+        for (Part part : tree.getParts()) {
+            boolean equality = EQUALITY.contains(part.getType());
+            if (equality || RANGE.contains(part.getType())) {
+                Column column = column(domainType, part.getProperty());
+                Shape shape = shapes.computeIfAbsent(column.table, Shape::new);
+                (equality ? shape.equality : shape.range).add(column.name);
+            }
+        }
+        for (Sort.Order order : tree.getSort()) {
+            Column column = column(domainType, PropertyPath.from(order.getProperty(), domainType));
+            shapes.computeIfAbsent(column.table, Shape::new).sort.add(column.name);
+        }
+        return new ArrayList<>(shapes.values());
+    }
+
+    private Column column(Class<?> domainType, PropertyPath path) {
+        AbstractEntityPersister persister = (AbstractEntityPersister) sessionFactory.getMetamodel().entityPersister(domainType);
+        while (path.hasNext()) {
+            Type type = persister.getPropertyType(path.getSegment());
+            if (!(type instanceof EntityType)) {
+                break;
+            }
+            String associatedEntity = ((EntityType) type).getAssociatedEntityName();
+            persister = (AbstractEntityPersister) sessionFactory.getMetamodel().entityPersister(associatedEntity);
+            path = path.next();
+        }
+        return new Column(persister.getTableName(), persister.getPropertyColumnNames(path.toDotPath())[0]);
+    }
+
+    private <T> List<Shape> specificationShapes(SpecificationSample<T> sample) {
+        EntityManager em = entityManagerFactory.createEntityManager();
+        try {
+            CriteriaBuilder builder = em.getCriteriaBuilder();
+            CriteriaQuery<T> criteria = builder.createQuery(sample.getDomainType());
+            Root<T> root = criteria.from(sample.getDomainType());
+            Predicate predicate = sample.getSpecification().toPredicate(root, criteria, builder);
+            if (predicate != null) {
+                criteria.where(predicate);
+            }
+            return sqlShapes(em.createQuery(criteria).unwrap(org.hibernate.query.Query.class).getQueryString());
+        } finally {
+            em.close();
+        }
+    }
+
+    private List<Shape> sqlShapes(String jpql) {
+        HQLQueryPlan plan = sessionFactory.getQueryPlanCache().getHQLQueryPlan(jpql, false, Collections.emptyMap());
+        List<Shape> shapes = new ArrayList<>();
+        for (String sql : plan.getSqlStrings()) {
+            shapes.addAll(sqlShapesOf(sql.toLowerCase(Locale.ROOT)));
+        }
+        return shapes;
+    }
+
+    private List<Shape> sqlShapesOf(String sql) {
+        Map<String, String> tables = new HashMap<>();
+        Matcher dml = DML_TABLE.matcher(sql);
+        if (dml.find()) {
+            tables.put("", dml.group(1));
+        }
+        Matcher tableAlias = TABLE_ALIAS.matcher(sql);
+        while (tableAlias.find()) {
+            if (!KEYWORDS.contains(tableAlias.group(2))) {
+                tables.put(tableAlias.group(2), tableAlias.group(1));
+            }
+        }
+
+        List<Shape> shapes = new ArrayList<>();
+        Matcher join = JOIN_ON.matcher(sql);
+        while (join.find()) {
+            Matcher condition = JOIN_CONDITION.matcher(join.group(2));
+            while (condition.find()) {
+                int joined = join.group(1).equals(condition.group(1)) ? 1 : join.group(1).equals(condition.group(3)) ? 3 : 0;
+                if (joined > 0) {
+                    Shape shape = new Shape(tables.get(join.group(1)));
+                    shape.equality.add(condition.group(joined + 1));
+                    shapes.add(shape);
+                }
+            }
+        }
+
+        Map<String, Shape> filters = new LinkedHashMap<>();
+        Matcher where = WHERE.matcher(sql);
+        if (where.find()) {
+            Matcher predicate = PREDICATE.matcher(where.group(1));
+            while (predicate.find()) {
+                String table = table(tables, predicate.group(1));
+                String operator = predicate.group(3);
+                if (table == null || predicate.group(4) != null || KEYWORDS.contains(predicate.group(2))
+                        || "<>".equals(operator) || "!=".equals(operator)) {
+                    continue;
+                }
+                Shape shape = filters.computeIfAbsent(table, Shape::new);
+                boolean equality = "=".equals(operator) || "in".equals(operator) || "is".equals(operator);
+                (equality ? shape.equality : shape.range).add(predicate.group(2));
+            }
+        }
+        Matcher orderBy = ORDER_BY.matcher(sql);
+        if (orderBy.find()) {
+            for (String item : orderBy.group(1).split(",")) {
+                Matcher column = COLUMN.matcher(item.trim());
+                String table = column.lookingAt() ? table(tables, column.group(1)) : null;
+                if (table != null) {
+                    filters.computeIfAbsent(table, Shape::new).sort.add(column.group(2));
+                }
+            }
+        }
+        shapes.addAll(filters.values());
+        return shapes;
+    }
+
+    private static String table(Map<String, String> tables, String alias) {
+        if (alias != null) {
+            return tables.get(alias);
+        }
+        return tables.size() == 1 ? tables.values().iterator().next() : null;
+    }
+
+    private List<IndexAdvice> advise(Map<String, List<Shape>> shapesBySource) {
+        Map<String, List<List<String>>> indexes = new HashMap<>();
+        Map<String, IndexAdvice> advice = new TreeMap<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (Map.Entry<String, List<Shape>> entry : shapesBySource.entrySet()) {
+                for (Shape shape : entry.getValue()) {
+                    List<List<String>> tableIndexes = indexes.get(shape.table);
+                    if (tableIndexes == null) {
+                        tableIndexes = indexes(metaData, shape.table);
+                        indexes.put(shape.table, tableIndexes);
+                    }
+                    List<String> columns = shape.suggestedColumns();
+                    if (!columns.isEmpty() && !shape.isCoveredBy(tableIndexes)) {
+                        advice.computeIfAbsent(shape.table + columns, key -> new IndexAdvice(shape.table, columns))
+                                .sources.add(entry.getKey());
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not read index metadata", e);
+        }
+        return new ArrayList<>(advice.values());
+    }
+
+    private static List<List<String>> indexes(DatabaseMetaData metaData, String table) throws SQLException {
+        String name = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+        Map<String, Map<Integer, String>> columnsByIndex = new HashMap<>();
+        try (ResultSet rs = metaData.getIndexInfo(null, null, name, false, true)) {
+            while (rs.next()) {
+                String column = rs.getString("COLUMN_NAME");
+                if (column != null) {
+                    columnsByIndex.computeIfAbsent(rs.getString("INDEX_NAME"), key -> new TreeMap<>())
+                            .put((int) rs.getShort("ORDINAL_POSITION"), column.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return columnsByIndex.values().stream()
+                .map(columns -> new ArrayList<>(columns.values()))
+                .collect(Collectors.toList());
+    }
+
+    private static final class Column {
+
+        private final String table;
+        private final String name;
+
+        private Column(String table, String name) {
+            this.table = table;
+            this.name = name;
+        }
+    }
+
+    private static final class Shape {
+
+        private final String table;
+        private final Set<String> equality = new LinkedHashSet<>();
+        private final Set<String> range = new LinkedHashSet<>();
+        private final Set<String> sort = new LinkedHashSet<>();
+
+        private Shape(String table) {
+            this.table = table;
+        }
+
+        private List<String> suggestedColumns() {
+            List<String> columns = new ArrayList<>(equality);
+            if (!range.isEmpty()) {
+                columns.add(range.iterator().next());
+            } else {
+                sort.stream().filter(column -> !columns.contains(column)).forEach(columns::add);
+            }
+            return columns;
+        }
+
+        private boolean isCoveredBy(List<List<String>> indexes) {
+            List<String> columns = suggestedColumns();
+            return indexes.stream().anyMatch(index -> index.size() >= columns.size()
+                    && new HashSet<>(index.subList(0, equality.size())).equals(equality)
+                    && index.subList(equality.size(), columns.size()).equals(columns.subList(equality.size(), columns.size())));
+        }
+    }
+
+    @Getter
+    public static class IndexAdvice {
+
+        private final String table;
+        private final List<String> columns;
+        private final Set<String> sources = new LinkedHashSet<>();
+
+        IndexAdvice(String table, List<String> columns) {
+            this.table = table;
+            this.columns = columns;
+        }
+
+        public String getDdl() {
+            return "create index idx_" + table + "_" + String.join("_", columns)
+                    + " on " + table + " (" + String.join(", ", columns) + ")";
+        }
+    }
+}
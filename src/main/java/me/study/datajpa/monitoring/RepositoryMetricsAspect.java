@@ -0,0 +1,127 @@
+package me.study.datajpa.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import me.study.datajpa.repository.KeysetSlice;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryMetricsAspect {
+
+    private final MeterRegistry registry;
+    private final Map<Class<?>, Map<Method, RepositoryMeters>> meters = new ConcurrentHashMap<>();
+
+    @Around("target(org.springframework.data.repository.Repository) || @within(org.springframework.stereotype.Repository)")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        Class<?> targetClass = joinPoint.getTarget().getClass();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        RepositoryMeters repositoryMeters = meters
+                .computeIfAbsent(targetClass, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(method, key -> new RepositoryMeters(repositoryName(targetClass), method.getName()));
+
+        long start = registry.config().clock().monotonicTime();
+        try {
+            Object result = joinPoint.proceed();
+            repositoryMeters.success(registry.config().clock().monotonicTime() - start, result);
+            return result;
+        } catch (Throwable e) {
+            repositoryMeters.error(registry.config().clock().monotonicTime() - start, e);
+            throw e;
+        }
+    }
+
+    private String repositoryName(Class<?> targetClass) {
+        for (Class<?> candidate : ClassUtils.getAllInterfacesForClassAsSet(targetClass)) {
+            if (Repository.class.isAssignableFrom(candidate) && !candidate.getName().startsWith("org.springframework.")) {
+                return candidate.getSimpleName();
+            }
+        }
+        return ClassUtils.getUserClass(targetClass).getSimpleName();
+    }
+
+    private static long resultSize(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Slice) {
+            return ((Slice<?>) result).getNumberOfElements();
+        }
+        if (result instanceof KeysetSlice) {
+            return ((KeysetSlice<?>) result).getSize();
+        }
+        if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1 : 0;
+        }
+        if (result instanceof Number || result instanceof Boolean || result instanceof AutoCloseable) {
+            return -1;
+        }
+        return 1;
+    }
+
+    private class RepositoryMeters {
+
+        private final String repository;
+        private final String method;
+        private final Timer success;
+        private final DistributionSummary resultSize;
+
+        private RepositoryMeters(String repository, String method) {
+            this.repository = repository;
+            this.method = method;
+            this.success = Timer.builder("repository.invocations")
+                    .tag("repository", repository)
+                    .tag("method", method)
+                    .tag("outcome", "success")
+                    .register(registry);
+            this.resultSize = DistributionSummary.builder("repository.result.size")
+                    .tag("repository", repository)
+                    .tag("method", method)
+                    .register(registry);
+        }
+
+        private void success(long elapsedNanos, Object result) {
+            success.record(elapsedNanos, TimeUnit.NANOSECONDS);
+            long size = resultSize(result);
+            if (size >= 0) {
+                resultSize.record(size);
+            }
+        }
+
+        private void error(long elapsedNanos, Throwable e) {
+            Timer.builder("repository.invocations")
+                    .tag("repository", repository)
+                    .tag("method", method)
+                    .tag("outcome", "error")
+                    .register(registry)
+                    .record(elapsedNanos, TimeUnit.NANOSECONDS);
+            Counter.builder("repository.errors")
+                    .tag("repository", repository)
+                    .tag("method", method)
+                    .tag("exception", e.getClass().getSimpleName())
+                    .register(registry)
+                    .increment();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package me.study.datajpa.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositorySqlBudgetAspect {
+
+    private final SqlStatementCollector collector;
+    private final SqlBudgetEnforcer enforcer;
+    private final MeterRegistry registry;
+
+    @Around("target(org.springframework.data.repository.Repository) || @within(org.springframework.stereotype.Repository)")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        Class<?> repositoryType = repositoryType(joinPoint.getTarget().getClass());
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+
+        Object result;
+        SqlStatistics statistics;
+        try (SqlStatementCollector.Scope scope = collector.open(repositoryType.getSimpleName() + "." + method.getName())) {
+            statistics = scope.getStatistics();
+            result = joinPoint.proceed();
+        }
+
+        DistributionSummary.builder("repository.sql.statements")
+                .tag("repository", repositoryType.getSimpleName())
+                .tag("method", method.getName())
+                .register(registry)
+                .record(statistics.getStatementCount());
+
+        SqlBudget budget = findBudget(method, repositoryType);
+        if (budget != null) {
+            enforcer.check(statistics, budget);
+        }
+        return result;
+    }
+
+    static Class<?> repositoryType(Class<?> targetClass) {
+        for (Class<?> candidate : ClassUtils.getAllInterfacesForClassAsSet(targetClass)) {
+            if (Repository.class.isAssignableFrom(candidate) && !candidate.getName().startsWith("org.springframework.")) {
+                return candidate;
+            }
+        }
+        return ClassUtils.getUserClass(targetClass);
+    }
+
+    static SqlBudget findBudget(Method method, Class<?> repositoryType) {
+        Method specificMethod = ClassUtils.getMostSpecificMethod(method, repositoryType);
+        SqlBudget budget = AnnotatedElementUtils.findMergedAnnotation(specificMethod, SqlBudget.class);
+        if (budget == null) {
+            budget = AnnotatedElementUtils.findMergedAnnotation(repositoryType, SqlBudget.class);
+        }
+        return budget;
+    }
+}
@@ -0,0 +1,64 @@
+package me.study.datajpa.monitoring;
+
+import lombok.Getter;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+@Endpoint(id = "slowqueries")
+@ConditionalOnProperty(name = "datajpa.hibernate-statistics.enabled", havingValue = "true")
+public class SlowQueryEndpoint {
+
+    private final Statistics statistics;
+    private final int limit;
+    private final long thresholdMillis;
+
+    public SlowQueryEndpoint(EntityManagerFactory entityManagerFactory,
+                             @Value("${datajpa.hibernate-statistics.top-queries:10}") int limit,
+                             @Value("${datajpa.hibernate-statistics.slow-query-threshold:500ms}") Duration threshold) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.limit = limit;
+        this.thresholdMillis = threshold.toMillis();
+    }
+
+    @ReadOperation
+    public List<QueryTiming> slowQueries() {
+        return Arrays.stream(statistics.getQueries())
+                .map(query -> new QueryTiming(query, statistics.getQueryStatistics(query)))
+                .filter(timing -> timing.getExecutionCount() > 0 && timing.getExecutionMaxTime() >= thresholdMillis)
+                .sorted(Comparator.comparingLong(QueryTiming::getExecutionMaxTime).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    @Getter
+    public static class QueryTiming {
+
+        private final String query;
+        private final long executionCount;
+        private final long executionAvgTime;
+        private final long executionMaxTime;
+        private final long executionRowCount;
+
+        QueryTiming(String query, QueryStatistics queryStatistics) {
+            this.query = query;
+            this.executionCount = queryStatistics.getExecutionCount();
+            this.executionAvgTime = queryStatistics.getExecutionAvgTime();
+            this.executionMaxTime = queryStatistics.getExecutionMaxTime();
+            this.executionRowCount = queryStatistics.getExecutionRowCount();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package me.study.datajpa.monitoring;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "datajpa.hibernate-statistics.enabled", havingValue = "true")
+public class SlowQueryLogger extends SimpleJdbcEventListener {
+
+    private final long thresholdNanos;
+
+    public SlowQueryLogger(@Value("${datajpa.hibernate-statistics.slow-query-threshold:500ms}") Duration threshold) {
+        this.thresholdNanos = threshold.toNanos();
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        if (timeElapsedNanos >= thresholdNanos) {
+            log.warn("Slow query ({} ms): {}", TimeUnit.NANOSECONDS.toMillis(timeElapsedNanos), statementInformation.getSqlWithValues());
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package me.study.datajpa.monitoring;
+
+import lombok.Getter;
+import org.springframework.data.jpa.domain.Specification;
+
+@Getter
+public class SpecificationSample<T> {
+
+    private final String name;
+    private final Class<T> domainType;
+    private final Specification<T> specification;
+
+    public SpecificationSample(String name, Class<T> domainType, Specification<T> specification) {
+        this.name = name;
+        this.domainType = domainType;
+        this.specification = specification;
+    }
+}
@@ -0,0 +1,48 @@
+package me.study.datajpa.monitoring;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Component
+public class SqlBudgetEnforcer {
+
+    private final int defaultMaxStatements;
+    private final int defaultMaxRepeatedStatements;
+    private final boolean failOnViolation;
+
+    public SqlBudgetEnforcer(@Value("${datajpa.sql-budget.max-statements:10}") int defaultMaxStatements,
+                             @Value("${datajpa.sql-budget.max-repeated-statements:3}") int defaultMaxRepeatedStatements,
+                             @Value("${datajpa.sql-budget.fail-on-violation:false}") boolean failOnViolation) {
+        this.defaultMaxStatements = defaultMaxStatements;
+        this.defaultMaxRepeatedStatements = defaultMaxRepeatedStatements;
+        this.failOnViolation = failOnViolation;
+    }
+
+    public void check(SqlStatistics statistics, SqlBudget budget) {
+        int maxStatements = budget != null && budget.maxStatements() >= 0 ? budget.maxStatements() : defaultMaxStatements;
+        int maxRepeated = budget != null && budget.maxRepeatedStatements() >= 0 ? budget.maxRepeatedStatements() : defaultMaxRepeatedStatements;
+
+        List<String> violations = new ArrayList<>();
+        if (statistics.getStatementCount() > maxStatements) {
+            violations.add("executed " + statistics.getStatementCount() + " statements, budget is " + maxStatements);
+        }
+        statistics.getRepeatedShapes(maxRepeated).forEach((sql, count) ->
+                violations.add("possible N+1, same statement executed " + count + " times: " + sql));
+
+        if (violations.isEmpty()) {
+            log.debug("{}", statistics);
+            return;
+        }
+
+        String message = statistics + " exceeded its SQL budget; " + String.join("; ", violations);
+        if (failOnViolation) {
+            throw new SqlBudgetExceededException(message);
+        }
+        log.warn(message);
+    }
+}
@@ -0,0 +1,8 @@
+package me.study.datajpa.monitoring;
+
+public class SqlBudgetExceededException extends RuntimeException {
+
+    public SqlBudgetExceededException(String message) {
+        super(message);
+    }
+}
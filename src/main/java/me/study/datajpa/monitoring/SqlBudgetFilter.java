@@ -0,0 +1,54 @@
+package me.study.datajpa.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Budgets the SQL a request runs on its servlet thread. Async handlers (such as the CompletableFuture endpoints)
+ * query on executor threads the collector cannot see, so requests that start async processing are not checked.
+ */
+@Component
+@RequiredArgsConstructor
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    public static final String STATISTICS_ATTRIBUTE = SqlStatistics.class.getName();
+
+    private final SqlStatementCollector collector;
+    private final SqlBudgetEnforcer enforcer;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        SqlStatistics statistics;
+        try (SqlStatementCollector.Scope scope = collector.open(request.getMethod() + " " + request.getRequestURI())) {
+            statistics = scope.getStatistics();
+            filterChain.doFilter(request, response);
+        }
+        if (isAsyncStarted(request)) {
+            return;
+        }
+        request.setAttribute(STATISTICS_ATTRIBUTE, statistics);
+
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod) {
+            enforcer.check(statistics, findBudget((HandlerMethod) handler));
+        }
+    }
+
+    private SqlBudget findBudget(HandlerMethod handlerMethod) {
+        SqlBudget budget = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(), SqlBudget.class);
+        if (budget == null) {
+            budget = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), SqlBudget.class);
+        }
+        return budget;
+    }
+}
@@ -0,0 +1,66 @@
+package me.study.datajpa.monitoring;
+
+import com.p6spy.engine.common.ResultSetInformation;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+@Component
+public class SqlStatementCollector extends SimpleJdbcEventListener {
+
+    private final ThreadLocal<Deque<SqlStatistics>> scopes = ThreadLocal.withInitial(ArrayDeque::new);
+
+    public Scope open(String name) {
+        SqlStatistics statistics = new SqlStatistics(name);
+        scopes.get().push(statistics);
+        return new Scope(statistics);
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        Deque<SqlStatistics> current = scopes.get();
+        if (current.isEmpty()) {
+            return;
+        }
+        String sql = statementInformation.getSql();
+        for (SqlStatistics statistics : current) {
+            statistics.recordStatement(sql, timeElapsedNanos);
+        }
+    }
+
+    @Override
+    public void onAfterResultSetNext(ResultSetInformation resultSetInformation, long timeElapsedNanos, boolean hasNext, SQLException e) {
+        if (!hasNext) {
+            return;
+        }
+        for (SqlStatistics statistics : scopes.get()) {
+            statistics.recordRow();
+        }
+    }
+
+    public class Scope implements AutoCloseable {
+
+        private final SqlStatistics statistics;
+
+        private Scope(SqlStatistics statistics) {
+            this.statistics = statistics;
+        }
+
+        public SqlStatistics getStatistics() {
+            return statistics;
+        }
+
+        @Override
+        public void close() {
+            Deque<SqlStatistics> current = scopes.get();
+            current.remove(statistics);
+            if (current.isEmpty()) {
+                scopes.remove();
+            }
+        }
+    }
+}
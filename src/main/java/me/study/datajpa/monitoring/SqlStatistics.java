@@ -0,0 +1,50 @@
+package me.study.datajpa.monitoring;
+
+import lombok.Getter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Getter
+public class SqlStatistics {
+
+    private final String name;
+    private int statementCount;
+    private long rowCount;
+    private long elapsedNanos;
+    private final Map<String, Integer> statementShapes = new LinkedHashMap<>();
+
+    public SqlStatistics(String name) {
+        this.name = name;
+    }
+
+    void recordStatement(String sql, long elapsedNanos) {
+        statementCount++;
+        this.elapsedNanos += elapsedNanos;
+        statementShapes.merge(sql, 1, Integer::sum);
+    }
+
+    void recordRow() {
+        rowCount++;
+    }
+
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    }
+
+    public Map<String, Integer> getRepeatedShapes(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        statementShapes.forEach((sql, count) -> {
+            if (count > threshold) {
+                repeated.put(sql, count);
+            }
+        });
+        return repeated;
+    }
+
+    @Override
+    public String toString() {
+        return name + ": " + statementCount + " statements, " + rowCount + " rows, " + getElapsedMillis() + " ms";
+    }
+}
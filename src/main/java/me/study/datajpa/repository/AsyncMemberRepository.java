@@ -0,0 +1,77 @@
+package me.study.datajpa.repository;
+
+import me.study.datajpa.dto.MemberDto;
+import me.study.datajpa.dto.MemberSearchCondition;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Component
+public class AsyncMemberRepository implements DisposableBean {
+
+    private final MemberRepository memberRepository;
+    private final TransactionTemplate readOnly;
+    private final ThreadPoolTaskExecutor executor;
+
+    public AsyncMemberRepository(MemberRepository memberRepository, PlatformTransactionManager transactionManager,
+                                 @Value("${datajpa.async-repository.pool-size:5}") int poolSize,
+                                 @Value("${datajpa.async-repository.queue-capacity:200}") int queueCapacity) {
+        this.memberRepository = memberRepository;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(poolSize);
+        this.executor.setMaxPoolSize(poolSize);
+        this.executor.setQueueCapacity(queueCapacity);
+        this.executor.setThreadNamePrefix("async-repository-");
+        this.executor.initialize();
+    }
+
+    public CompletableFuture<Optional<MemberDto>> findById(Long id) {
+        return supplyAsync(() -> memberRepository.findById(id).map(MemberDto::new));
+    }
+
+    public CompletableFuture<List<MemberDto>> findByUsername(String username) {
+        return supplyAsync(() -> memberRepository.findByUsername(username).stream()
+                .map(MemberDto::new)
+                .collect(Collectors.toList()));
+    }
+
+    public CompletableFuture<List<MemberDto>> search(MemberSearchCondition condition) {
+        return supplyAsync(() -> memberRepository.search(condition).stream()
+                .map(MemberDto::new)
+                .collect(Collectors.toList()));
+    }
+
+    public CompletableFuture<Page<MemberDto>> findMemberDtoPage(Pageable pageable, boolean estimate) {
+        return supplyAsync(() -> memberRepository.findMemberDtoPage(pageable, estimate));
+    }
+
+    private <T> CompletableFuture<T> supplyAsync(Supplier<T> query) {
+        try {
+            return CompletableFuture.supplyAsync(() -> readOnly.execute(status -> query.get()), executor);
+        } catch (TaskRejectedException e) {
+            CompletableFuture<T> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(e);
+            return rejected;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,11 @@
+package me.study.datajpa.repository;
+
+import me.study.datajpa.entity.BulkJobChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface BulkJobChunkRepository extends JpaRepository<BulkJobChunk, Long> {
+
+    List<BulkJobChunk> findByJobNameOrderByFromId(String jobName);
+}
@@ -0,0 +1,26 @@
+package me.study.datajpa.repository;
+
+import java.util.Arrays;
+
+public abstract class CompiledProjection {
+
+    private final Object[] values;
+
+    protected CompiledProjection(Object[] values) {
+        this.values = values;
+    }
+
+    public Object get(int index) {
+        return values[index];
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getInterfaces()[0].getSimpleName() + Arrays.toString(values);
+    }
+
+    public interface Instantiator {
+
+        Object newInstance(Object[] values);
+    }
+}
@@ -0,0 +1,252 @@
+package me.study.datajpa.repository;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy;
+import net.bytebuddy.implementation.MethodCall;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ParserContext;
+import org.springframework.expression.spel.SpelNode;
+import org.springframework.expression.spel.ast.CompoundExpression;
+import org.springframework.expression.spel.ast.OpPlus;
+import org.springframework.expression.spel.ast.PropertyOrFieldReference;
+import org.springframework.expression.spel.ast.StringLiteral;
+import org.springframework.expression.spel.standard.SpelExpression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.IdentifiableType;
+import javax.persistence.metamodel.ManagedType;
+import javax.persistence.metamodel.SingularAttribute;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.takesArguments;
+
+@Component
+public class CompiledProjectionFactory {
+
+    private static final String ROOT_ALIAS = "p";
+    private static final Method GET = BeanUtils.findMethod(CompiledProjection.class, "get", int.class);
+
+    private final EntityManager em;
+    private final SpelExpressionParser parser = new SpelExpressionParser();
+    private final Map<List<Class<?>>, ProjectionMapping<?>> mappings = new ConcurrentHashMap<>();
+    private final Map<Class<?>, CompiledProjection.Instantiator> instantiators = new ConcurrentHashMap<>();
+
+    public CompiledProjectionFactory(EntityManager em) {
+        this.em = em;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> ProjectionMapping<T> getMapping(Class<?> domainType, Class<T> projectionType) {
+        return (ProjectionMapping<T>) mappings.computeIfAbsent(Arrays.asList(domainType, projectionType),
+                key -> createMapping(domainType, projectionType));
+    }
+
+    private ProjectionMapping<?> createMapping(Class<?> domainType, Class<?> projectionType) {
+        EntityType<?> entityType = em.getMetamodel().entity(domainType);
+        SelectBuilder select = new SelectBuilder();
+        Function<Object[], Object> reader = compile(select, ROOT_ALIAS, entityType, projectionType);
+
+        String query = "select " + String.join(", ", select.selections) +
+                " from " + entityType.getName() + " " + ROOT_ALIAS + select.joins;
+        return new ProjectionMapping<>(ROOT_ALIAS, query, reader);
+    }
+
+    private Function<Object[], Object> compile(SelectBuilder select, String alias, ManagedType<?> type, Class<?> projectionType) {
+        if (!projectionType.isInterface()) {
+            throw new IllegalArgumentException("Compiled projections require an interface: " + projectionType.getName());
+        }
+
+        List<Method> getters = getters(projectionType);
+        List<Function<Object[], Object>> readers = new ArrayList<>();
+        for (Method getter : getters) {
+            Value value = getter.getAnnotation(Value.class);
+            if (value != null) {
+                readers.add(concatenation(select, alias, type, value.value()));
+                continue;
+            }
+
+            String property = BeanUtils.findPropertyForMethod(getter).getName();
+            Attribute<?, ?> attribute = type.getAttribute(property);
+            if (getter.getReturnType().isInterface() && attribute.isAssociation() && !attribute.isCollection()) {
+                IdentifiableType<?> target = (IdentifiableType<?>) em.getMetamodel().managedType(attribute.getJavaType());
+                String join = select.join(alias, property);
+                int id = select.select(join + "." + idAttribute(target).getName());
+                Function<Object[], Object> nested = compile(select, join, target, getter.getReturnType());
+                readers.add(row -> row[id] == null ? null : nested.apply(row));
+            } else if (attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC) {
+                int index = select.select(alias + "." + property);
+                readers.add(row -> row[index]);
+            } else {
+                throw new IllegalArgumentException("Unsupported projection property " + projectionType.getSimpleName() + "." + property);
+            }
+        }
+
+        CompiledProjection.Instantiator instantiator = instantiators.computeIfAbsent(projectionType, key -> generate(key, getters));
+        int size = readers.size();
+        return row -> {
+            Object[] values = new Object[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = readers.get(i).apply(row);
+            }
+            return instantiator.newInstance(values);
+        };
+    }
+
+    private Function<Object[], Object> concatenation(SelectBuilder select, String alias, ManagedType<?> type, String template) {
+        Expression expression = parser.parseExpression(template, ParserContext.TEMPLATE_EXPRESSION);
+        if (!(expression instanceof SpelExpression)) {
+            throw new IllegalArgumentException("Unsupported projection expression " + template);
+        }
+
+        List<Object> parts = new ArrayList<>();
+        flatten(((SpelExpression) expression).getAST(), parts, template);
+        if (parts.isEmpty()) {
+            throw new IllegalArgumentException("Unsupported projection expression " + template);
+        }
+
+        for (int i = 0; i < parts.size(); i++) {
+            Object part = parts.get(i);
+            if (part instanceof String[]) {
+                String[] path = (String[]) part;
+                String current = alias;
+                ManagedType<?> currentType = type;
+                for (int j = 0; j < path.length - 1; j++) {
+                    Attribute<?, ?> association = currentType.getAttribute(path[j]);
+                    current = select.join(current, path[j]);
+                    currentType = em.getMetamodel().managedType(association.getJavaType());
+                }
+                Attribute<?, ?> attribute = currentType.getAttribute(path[path.length - 1]);
+                if (i == 0 && attribute.getJavaType() != String.class) {
+                    throw new IllegalArgumentException("Projection expression must start with a string: " + template);
+                }
+                parts.set(i, select.select(current + "." + attribute.getName()));
+            }
+        }
+
+        Object[] compiled = parts.toArray();
+        return row -> {
+            StringBuilder result = new StringBuilder();
+            for (Object part : compiled) {
+                result.append(part instanceof Integer ? String.valueOf(row[(Integer) part]) : part);
+            }
+            return result.toString();
+        };
+    }
+
+    private static void flatten(SpelNode node, List<Object> parts, String template) {
+        if (node instanceof OpPlus && node.getChildCount() == 2) {
+            flatten(node.getChild(0), parts, template);
+            flatten(node.getChild(1), parts, template);
+        } else if (node instanceof StringLiteral) {
+            parts.add(((StringLiteral) node).getLiteralValue().getValue());
+        } else if (node instanceof CompoundExpression && isTarget(node.getChild(0))) {
+            String[] path = new String[node.getChildCount() - 1];
+            for (int i = 1; i < node.getChildCount(); i++) {
+                if (!(node.getChild(i) instanceof PropertyOrFieldReference)) {
+                    throw new IllegalArgumentException("Unsupported projection expression " + template);
+                }
+                path[i - 1] = ((PropertyOrFieldReference) node.getChild(i)).getName();
+            }
+            parts.add(path);
+        } else {
+            throw new IllegalArgumentException("Unsupported projection expression " + template);
+        }
+    }
+
+    private static boolean isTarget(SpelNode node) {
+        return node instanceof PropertyOrFieldReference && "target".equals(((PropertyOrFieldReference) node).getName());
+    }
+
+    private static List<Method> getters(Class<?> projectionType) {
+        List<Method> getters = new ArrayList<>();
+        for (Method method : projectionType.getMethods()) {
+            if (!Modifier.isAbstract(method.getModifiers())) {
+                continue;
+            }
+            PropertyDescriptor descriptor = BeanUtils.findPropertyForMethod(method);
+            if (descriptor == null || !method.equals(descriptor.getReadMethod())) {
+                throw new IllegalArgumentException("Unsupported projection method " + method);
+            }
+            getters.add(method);
+        }
+        getters.sort(Comparator.comparing(Method::getName));
+        return getters;
+    }
+
+    private static SingularAttribute<?, ?> idAttribute(IdentifiableType<?> type) {
+        return type.getId(type.getIdType().getJavaType());
+    }
+
+    private static CompiledProjection.Instantiator generate(Class<?> projectionType, List<Method> getters) {
+        DynamicType.Builder<CompiledProjection> builder = new ByteBuddy()
+                .subclass(CompiledProjection.class, ConstructorStrategy.Default.IMITATE_SUPER_CLASS_OPENING)
+                .name(projectionType.getName() + "$Compiled")
+                .implement(projectionType);
+        for (int i = 0; i < getters.size(); i++) {
+            builder = builder.method(named(getters.get(i).getName()).and(takesArguments(0)))
+                    .intercept(MethodCall.invoke(GET).with(i).withAssigner(Assigner.DEFAULT, Assigner.Typing.DYNAMIC));
+        }
+        Class<? extends CompiledProjection> projectionClass = builder.make()
+                .load(projectionType.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+
+        try {
+            return new ByteBuddy()
+                    .subclass(CompiledProjection.Instantiator.class)
+                    .name(projectionType.getName() + "$CompiledInstantiator")
+                    .method(named("newInstance"))
+                    .intercept(MethodCall.construct(projectionClass.getConstructor(Object[].class)).withArgument(0))
+                    .make()
+                    .load(projectionClass.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                    .getLoaded()
+                    .getConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not instantiate projection " + projectionType.getName(), e);
+        }
+    }
+
+    private static class SelectBuilder {
+
+        private final List<String> selections = new ArrayList<>();
+        private final Map<String, String> joinAliases = new HashMap<>();
+        private final StringBuilder joins = new StringBuilder();
+
+        private int select(String path) {
+            int index = selections.indexOf(path);
+            if (index < 0) {
+                selections.add(path);
+                index = selections.size() - 1;
+            }
+            return index;
+        }
+
+        private String join(String alias, String property) {
+            return joinAliases.computeIfAbsent(alias + "." + property, path -> {
+                String joinAlias = "j" + joinAliases.size();
+                joins.append(" left join ").append(path).append(' ').append(joinAlias);
+                return joinAlias;
+            });
+        }
+    }
+}
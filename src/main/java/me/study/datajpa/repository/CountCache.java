@@ -0,0 +1,72 @@
+package me.study.datajpa.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+@Component
+public class CountCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final long ttlNanos;
+    private final long maxStalenessNanos;
+    private final int maxEntries;
+
+    public CountCache(@Value("${datajpa.count-cache.ttl:30s}") Duration ttl,
+                      @Value("${datajpa.count-cache.max-staleness:5m}") Duration maxStaleness,
+                      @Value("${datajpa.count-cache.max-entries:10000}") int maxEntries) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxStalenessNanos = maxStaleness.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    public long getCount(String key, boolean estimate, LongSupplier countQuery) {
+        long now = System.nanoTime();
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            long age = now - entry.loadedAt;
+            if (estimate ? age < maxStalenessNanos : !entry.invalidated && age < ttlNanos) {
+                return entry.count;
+            }
+        }
+
+        long loadGeneration = generation.get();
+        long count = countQuery.getAsLong();
+        if (entry == null && entries.size() >= maxEntries) {
+            entries.values().removeIf(stale -> now - stale.loadedAt >= maxStalenessNanos);
+            if (entries.size() >= maxEntries) {
+                return count;
+            }
+        }
+        entries.put(key, new Entry(count, now, loadGeneration != generation.get()));
+        return count;
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        entries.replaceAll((key, entry) -> entry.invalidate());
+    }
+
+    private static final class Entry {
+
+        private final long count;
+        private final long loadedAt;
+        private final boolean invalidated;
+
+        private Entry(long count, long loadedAt, boolean invalidated) {
+            this.count = count;
+            this.loadedAt = loadedAt;
+            this.invalidated = invalidated;
+        }
+
+        private Entry invalidate() {
+            return invalidated ? this : new Entry(count, loadedAt, true);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package me.study.datajpa.repository;
+
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+class DtoConstructorLayout<T> {
+
+    private static final ParameterNameDiscoverer PARAMETER_NAMES = new DefaultParameterNameDiscoverer();
+
+    private final Constructor<T> constructor;
+    private final Class<?>[] parameterTypes;
+    private final Object[] defaults;
+    private final int[] columns;
+
+    private DtoConstructorLayout(Constructor<T> constructor, int[] columns) {
+        this.constructor = constructor;
+        this.parameterTypes = constructor.getParameterTypes();
+        this.columns = columns;
+        this.defaults = new Object[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (parameterTypes[i].isPrimitive()) {
+                defaults[i] = Array.get(Array.newInstance(parameterTypes[i], 1), 0);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> DtoConstructorLayout<T> resolve(Class<T> type, ResultSetMetaData metaData) throws SQLException {
+        Map<String, Integer> columnIndexes = new HashMap<>();
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            columnIndexes.putIfAbsent(normalize(JdbcUtils.lookupColumnName(metaData, i)), i);
+        }
+
+        Constructor<?>[] candidates = type.getConstructors();
+        Arrays.sort(candidates, Comparator.comparingInt(Constructor<?>::getParameterCount).reversed());
+        for (Constructor<?> candidate : candidates) {
+            String[] names = PARAMETER_NAMES.getParameterNames(candidate);
+            if (names == null || names.length == 0) {
+                continue;
+            }
+            int[] columns = new int[names.length];
+            boolean matched = true;
+            for (int i = 0; i < names.length && matched; i++) {
+                Integer index = columnIndexes.get(normalize(names[i]));
+                matched = index != null;
+                columns[i] = matched ? index : 0;
+            }
+            if (matched) {
+                return new DtoConstructorLayout<>((Constructor<T>) candidate, columns);
+            }
+        }
+        throw new IllegalArgumentException("No constructor of " + type.getName() + " matches columns " + columnIndexes.keySet());
+    }
+
+    T map(ResultSet rs) throws SQLException {
+        Object[] args = new Object[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            Object value = JdbcUtils.getResultSetValue(rs, columns[i], parameterTypes[i]);
+            args[i] = value != null ? value : defaults[i];
+        }
+        try {
+            return constructor.newInstance(args);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not instantiate " + constructor.getDeclaringClass().getName(), e);
+        }
+    }
+
+    private static String normalize(String name) {
+        return name.replace("_", "").toLowerCase();
+    }
+}
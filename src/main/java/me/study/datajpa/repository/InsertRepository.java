@@ -0,0 +1,10 @@
+package me.study.datajpa.repository;
+
+import java.util.List;
+
+public interface InsertRepository<T> {
+
+    <S extends T> S insert(S entity);
+
+    <S extends T> List<S> insertAll(Iterable<S> entities);
+}
@@ -0,0 +1,32 @@
+package me.study.datajpa.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class InsertRepositoryImpl<T> implements InsertRepository<T> {
+
+    private final EntityManager em;
+
+    @Override
+    @Transactional
+    public <S extends T> S insert(S entity) {
+        em.persist(entity);
+        return entity;
+    }
+
+    @Override
+    @Transactional
+    public <S extends T> List<S> insertAll(Iterable<S> entities) {
+        List<S> result = new ArrayList<>();
+        for (S entity : entities) {
+            em.persist(entity);
+            result.add(entity);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,12 @@
+package me.study.datajpa.repository;
+
+public class InvalidKeysetRequestException extends RuntimeException {
+
+    public InvalidKeysetRequestException(String message) {
+        super(message);
+    }
+
+    public InvalidKeysetRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
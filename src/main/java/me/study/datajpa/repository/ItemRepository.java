@@ -3,5 +3,5 @@ package me.study.datajpa.repository;
 import me.study.datajpa.entity.Item;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, String>, InsertRepository<Item>, UpsertRepository<Item> {
 }
@@ -0,0 +1,53 @@
+package me.study.datajpa.repository;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+@Getter
+@RequiredArgsConstructor
+public class KeysetCursor {
+
+    private static final char SEPARATOR = ':';
+    private static final char NULL_USERNAME = '0';
+    private static final char PRESENT_USERNAME = '1';
+
+    private final String username;
+    private final Long id;
+
+    public static KeysetCursor decode(String token) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidKeysetRequestException("Invalid continuation token: " + token, e);
+        }
+
+        int separatorIndex = decoded.indexOf(SEPARATOR);
+        if (separatorIndex < 1 || separatorIndex + 1 >= decoded.length()) {
+            throw new InvalidKeysetRequestException("Invalid continuation token: " + token);
+        }
+
+        char flag = decoded.charAt(separatorIndex + 1);
+        String username = decoded.substring(separatorIndex + 2);
+        if (flag == NULL_USERNAME && username.isEmpty()) {
+            username = null;
+        } else if (flag != PRESENT_USERNAME) {
+            throw new InvalidKeysetRequestException("Invalid continuation token: " + token);
+        }
+
+        try {
+            Long id = Long.valueOf(decoded.substring(0, separatorIndex));
+            return new KeysetCursor(username, id);
+        } catch (NumberFormatException e) {
+            throw new InvalidKeysetRequestException("Invalid continuation token: " + token, e);
+        }
+    }
+
+    public String encode() {
+        String raw = id + String.valueOf(SEPARATOR) + (username == null ? String.valueOf(NULL_USERNAME) : PRESENT_USERNAME + username);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
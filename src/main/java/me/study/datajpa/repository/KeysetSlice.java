@@ -0,0 +1,39 @@
+package me.study.datajpa.repository;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Getter
+public class KeysetSlice<T> {
+
+    private final List<T> content;
+    private final String nextToken;
+
+    public KeysetSlice(List<T> content, String nextToken) {
+        this.content = Collections.unmodifiableList(content);
+        this.nextToken = nextToken;
+    }
+
+    public int getSize() {
+        return content.size();
+    }
+
+    public boolean hasNext() {
+        return nextToken != null;
+    }
+
+    public boolean isLast() {
+        return !hasNext();
+    }
+
+    public <U> KeysetSlice<U> map(Function<? super T, ? extends U> converter) {
+        List<U> converted = content.stream()
+                .map(converter)
+                .collect(Collectors.toList());
+        return new KeysetSlice<>(converted, nextToken);
+    }
+}
@@ -0,0 +1,60 @@
+package me.study.datajpa.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class MemberCountCacheInvalidator {
+
+    private final Object resourceKey = new Object();
+    private final CountCache countCache;
+
+    @Pointcut("target(me.study.datajpa.repository.MemberRepository) && (execution(* save*(..)) || execution(* delete*(..)) || execution(* bulkAgePlus*(..)))")
+    public void memberRepositoryWrite() {
+    }
+
+    @Pointcut("target(me.study.datajpa.repository.MemberJpaRepository) && (execution(* save(..)) || execution(* delete(..)) || execution(* bulkAgePlus(..)))")
+    public void memberJpaRepositoryWrite() {
+    }
+
+    @AfterReturning("memberRepositoryWrite() || memberJpaRepositoryWrite()")
+    public void invalidate() {
+        countCache.invalidateAll();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.hasResource(resourceKey)) {
+            TransactionSynchronizationManager.bindResource(resourceKey, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new InvalidateAfterCommit());
+        }
+    }
+
+    private class InvalidateAfterCommit extends TransactionSynchronizationAdapter {
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(resourceKey);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(resourceKey, Boolean.TRUE);
+        }
+
+        @Override
+        public void afterCommit() {
+            countCache.invalidateAll();
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(resourceKey);
+        }
+    }
+}
@@ -1,9 +1,23 @@
 package me.study.datajpa.repository;
 
+import me.study.datajpa.dto.MemberDto;
+import me.study.datajpa.dto.MemberSearchCondition;
 import me.study.datajpa.entity.Member;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface MemberRepositoryCustom {
     List<Member> findMemberCustom();
+    List<Member> findByNames(Collection<String> names);
+    KeysetSlice<Member> findKeysetPage(String continuationToken, int size);
+    Page<MemberDto> findMemberDtoPage(Pageable pageable, boolean estimate);
+    Stream<MemberDto> streamAll(int fetchSize);
+    int bulkAgePlusInPlace(int age);
+    <T> List<T> findCompiledProjectionsByUsername(String username, Class<T> type);
+    Page<MemberDto> findNativeMemberDtoPage(Pageable pageable);
+    List<Member> search(MemberSearchCondition condition);
 }
@@ -1,19 +1,196 @@
 package me.study.datajpa.repository;
 
-import lombok.RequiredArgsConstructor;
+import me.study.datajpa.dto.MemberDto;
+import me.study.datajpa.dto.MemberSearchCondition;
 import me.study.datajpa.entity.Member;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-@RequiredArgsConstructor
 public class MemberRepositoryImpl implements MemberRepositoryCustom {
 
     private final EntityManager em;
+    private final CountCache countCache;
+    private final CompiledProjectionFactory projectionFactory;
+    private final NativeDtoQueries nativeDtoQueries;
+    private final SpecificationQueryCache specificationQueryCache;
+    private final int inClauseMaxSize;
+
+    public MemberRepositoryImpl(EntityManager em, CountCache countCache, CompiledProjectionFactory projectionFactory,
+                                NativeDtoQueries nativeDtoQueries, SpecificationQueryCache specificationQueryCache,
+                                @Value("${datajpa.in-clause.max-size:1000}") int inClauseMaxSize) {
+        this.em = em;
+        this.countCache = countCache;
+        this.projectionFactory = projectionFactory;
+        this.nativeDtoQueries = nativeDtoQueries;
+        this.specificationQueryCache = specificationQueryCache;
+        this.inClauseMaxSize = inClauseMaxSize;
+    }
 
     @Override
     public List<Member> findMemberCustom() {
         return em.createQuery("select m from Member m", Member.class)
                 .getResultList();
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Member> findByNames(Collection<String> names) {
+        List<String> distinctNames = new ArrayList<>(new LinkedHashSet<>(names));
+        List<Member> result = new ArrayList<>();
+        for (int from = 0; from < distinctNames.size(); from += inClauseMaxSize) {
+            List<String> chunk = distinctNames.subList(from, Math.min(from + inClauseMaxSize, distinctNames.size()));
+            result.addAll(em.createQuery("select m from Member m where m.username in :names", Member.class)
+                    .setParameter("names", chunk)
+                    .getResultList());
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetSlice<Member> findKeysetPage(String continuationToken, int size) {
+        if (size <= 0) {
+            throw new InvalidKeysetRequestException("Size must be greater than zero");
+        }
+
+        KeysetCursor cursor = continuationToken == null ? null : KeysetCursor.decode(continuationToken);
+        TypedQuery<Member> query;
+        if (cursor == null) {
+            query = em.createQuery("select m from Member m left join fetch m.team" +
+                    " order by m.username asc nulls first, m.id asc", Member.class);
+        } else if (cursor.getUsername() == null) {
+            query = em.createQuery("select m from Member m left join fetch m.team" +
+                    " where m.username is not null or m.id > :id" +
+                    " order by m.username asc nulls first, m.id asc", Member.class)
+                    .setParameter("id", cursor.getId());
+        } else {
+            query = em.createQuery("select m from Member m left join fetch m.team" +
+                    " where m.username > :username or (m.username = :username and m.id > :id)" +
+                    " order by m.username asc nulls first, m.id asc", Member.class)
+                    .setParameter("username", cursor.getUsername())
+                    .setParameter("id", cursor.getId());
+        }
+
+        List<Member> result = query
+                .setMaxResults(size + 1)
+                .getResultList();
+
+        if (result.size() <= size) {
+            return new KeysetSlice<>(result, null);
+        }
+
+        List<Member> content = result.subList(0, size);
+        Member last = content.get(size - 1);
+        return new KeysetSlice<>(content, new KeysetCursor(last.getUsername(), last.getId()).encode());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<MemberDto> findMemberDtoPage(Pageable pageable, boolean estimate) {
+        String jpql = QueryUtils.applySorting("select new me.study.datajpa.dto.MemberDto(m.id, m.username, t.name)" +
+                " from Member m left join m.team t", pageable.getSort(), "m");
+        List<MemberDto> content = em.createQuery(jpql, MemberDto.class)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        long total = countCache.getCount("Member.all", estimate, () ->
+                em.createQuery("select count(m) from Member m", Long.class).getSingleResult());
+
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    @Override
+    public Stream<MemberDto> streamAll(int fetchSize) {
+        ScrollableResults results = em.unwrap(Session.class)
+                .createQuery("select new me.study.datajpa.dto.MemberDto(m.id, m.username, t.name) from Member m left join m.team t", MemberDto.class)
+                .setFetchSize(fetchSize)
+                .scroll(ScrollMode.FORWARD_ONLY);
+
+        Iterator<MemberDto> iterator = new Iterator<MemberDto>() {
+
+            private Boolean hasNext;
+
+            @Override
+            public boolean hasNext() {
+                if (hasNext == null) {
+                    hasNext = results.next();
+                }
+                return hasNext;
+            }
+
+            @Override
+            public MemberDto next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                hasNext = null;
+                return (MemberDto) results.get(0);
+            }
+        };
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(results::close);
+    }
+
+    @Override
+    public int bulkAgePlusInPlace(int age) {
+        em.flush();
+        int resultCount = em.createQuery("update versioned Member m set m.age = m.age + 1 where m.age >= :age")
+                .setParameter("age", age)
+                .executeUpdate();
+
+        PersistenceContextPatcher.patch(em, Member.class,
+                member -> member.getAge() >= age,
+                member -> member.setAge(member.getAge() + 1));
+        return resultCount;
+    }
+
+    @Override
+    public <T> List<T> findCompiledProjectionsByUsername(String username, Class<T> type) {
+        ProjectionMapping<T> mapping = projectionFactory.getMapping(Member.class, type);
+        List<?> rows = em.createQuery(mapping.getQuery() + " where " + mapping.getAlias() + ".username = :username")
+                .setParameter("username", username)
+                .getResultList();
+
+        List<T> result = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            result.add(mapping.map(row));
+        }
+        return result;
+    }
+
+    @Override
+    public Page<MemberDto> findNativeMemberDtoPage(Pageable pageable) {
+        return nativeDtoQueries.page("select m.member_id as id, m.username, t.name as team_name" +
+                " from member m left join team t on m.team_id = t.team_id", pageable, MemberDto.class);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Member> search(MemberSearchCondition condition) {
+        return specificationQueryCache.createQuery(Member.class, "MemberSpec.search",
+                MemberSpec.searchParameters(condition), MemberSpec::search)
+                .getResultList();
+    }
 }
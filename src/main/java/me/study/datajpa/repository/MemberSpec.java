@@ -1,5 +1,6 @@
 package me.study.datajpa.repository;
 
+import me.study.datajpa.dto.MemberSearchCondition;
 import me.study.datajpa.entity.Member;
 import me.study.datajpa.entity.Team;
 import org.springframework.data.jpa.domain.Specification;
@@ -7,6 +8,12 @@ import org.springframework.util.StringUtils;
 
 import javax.persistence.criteria.Join;
 import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Predicate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class MemberSpec {
 
@@ -32,4 +39,42 @@ public class MemberSpec {
             return criteriaBuilder.equal(root.get("username"), username);
         };
     }
+
+    public static Specification<Member> search(final Set<String> parameters) {
+        return (Specification<Member>) (root, query, criteriaBuilder) -> {
+
+            List<Predicate> predicates = new ArrayList<>();
+            if (parameters.contains("username")) {
+                predicates.add(criteriaBuilder.equal(root.get("username"), criteriaBuilder.parameter(String.class, "username")));
+            }
+            if (parameters.contains("teamName")) {
+                Join<Member, Team> t = root.join("team", JoinType.INNER);
+                predicates.add(criteriaBuilder.equal(t.get("name"), criteriaBuilder.parameter(String.class, "teamName")));
+            }
+            if (parameters.contains("ageGoe")) {
+                predicates.add(criteriaBuilder.ge(root.get("age"), criteriaBuilder.parameter(Integer.class, "ageGoe")));
+            }
+            if (parameters.contains("ageLoe")) {
+                predicates.add(criteriaBuilder.le(root.get("age"), criteriaBuilder.parameter(Integer.class, "ageLoe")));
+            }
+            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    public static Map<String, Object> searchParameters(MemberSearchCondition condition) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (!StringUtils.isEmpty(condition.getUsername())) {
+            parameters.put("username", condition.getUsername());
+        }
+        if (!StringUtils.isEmpty(condition.getTeamName())) {
+            parameters.put("teamName", condition.getTeamName());
+        }
+        if (condition.getAgeGoe() != null) {
+            parameters.put("ageGoe", condition.getAgeGoe());
+        }
+        if (condition.getAgeLoe() != null) {
+            parameters.put("ageLoe", condition.getAgeLoe());
+        }
+        return parameters;
+    }
 }
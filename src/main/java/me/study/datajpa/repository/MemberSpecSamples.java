@@ -0,0 +1,20 @@
+package me.study.datajpa.repository;
+
+import me.study.datajpa.entity.Member;
+import me.study.datajpa.monitoring.SpecificationSample;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MemberSpecSamples {
+
+    @Bean
+    public SpecificationSample<Member> memberTeamNameSample() {
+        return new SpecificationSample<>("MemberSpec.teamName", Member.class, MemberSpec.teamName("sample"));
+    }
+
+    @Bean
+    public SpecificationSample<Member> memberUsernameSample() {
+        return new SpecificationSample<>("MemberSpec.username", Member.class, MemberSpec.username("sample"));
+    }
+}
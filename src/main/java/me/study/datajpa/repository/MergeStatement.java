@@ -0,0 +1,97 @@
+package me.study.datajpa.repository;
+
+import lombok.Getter;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.Assigned;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.type.Type;
+import org.springframework.util.Assert;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+class MergeStatement {
+
+    private final AbstractEntityPersister persister;
+    private final int[] properties;
+
+    @Getter
+    private final String sql;
+
+    MergeStatement(AbstractEntityPersister persister, Dialect dialect) {
+        Assert.isTrue(persister.getIdentifierGenerator() instanceof Assigned,
+                "Upsert requires an assigned identifier: " + persister.getEntityName());
+        Assert.isTrue(!persister.isVersioned(), "Upsert does not support versioned entities: " + persister.getEntityName());
+        this.persister = persister;
+
+        List<String> keyColumns = Arrays.asList(persister.getIdentifierColumnNames());
+        List<String> updateColumns = new ArrayList<>();
+        List<String> columns = new ArrayList<>(keyColumns);
+        List<Integer> bound = new ArrayList<>();
+        Type[] types = persister.getPropertyTypes();
+        boolean[] insertable = persister.getPropertyInsertability();
+        boolean[] updateable = persister.getPropertyUpdateability();
+        for (int i = 0; i < types.length; i++) {
+            if (insertable[i] && !types[i].isCollectionType()) {
+                List<String> propertyColumns = Arrays.asList(persister.getPropertyColumnNames(i));
+                columns.addAll(propertyColumns);
+                if (updateable[i]) {
+                    updateColumns.addAll(propertyColumns);
+                }
+                bound.add(i);
+            }
+        }
+        this.properties = bound.stream().mapToInt(Integer::intValue).toArray();
+        this.sql = merge(persister.getTableName(), keyColumns, updateColumns, columns, dialect instanceof H2Dialect);
+    }
+
+    void bind(PreparedStatement ps, Object entity, SharedSessionContractImplementor session) throws SQLException {
+        int index = 1;
+        Type identifierType = persister.getIdentifierType();
+        identifierType.nullSafeSet(ps, persister.getIdentifier(entity, session), index, session);
+        index += identifierType.getColumnSpan(session.getFactory());
+
+        Object[] values = persister.getPropertyValues(entity);
+        Type[] types = persister.getPropertyTypes();
+        for (int property : properties) {
+            types[property].nullSafeSet(ps, values[property], index, session);
+            index += types[property].getColumnSpan(session.getFactory());
+        }
+    }
+
+    private static String merge(String table, List<String> keyColumns, List<String> updateColumns, List<String> columns,
+                                boolean positionalSource) {
+        Map<String, String> source = new LinkedHashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            source.put(columns.get(i), "s." + (positionalSource ? "c" + (i + 1) : columns.get(i)));
+        }
+
+        StringBuilder sql = new StringBuilder()
+                .append("merge into ").append(table).append(" t")
+                .append(" using (values (").append(placeholders(columns.size())).append(")) s");
+        if (!positionalSource) {
+            sql.append(" (").append(String.join(", ", columns)).append(")");
+        }
+        sql.append(" on (").append(keyColumns.stream().map(c -> "t." + c + " = " + source.get(c)).collect(Collectors.joining(" and "))).append(")");
+        if (!updateColumns.isEmpty()) {
+            sql.append(" when matched then update set ")
+                    .append(updateColumns.stream().map(c -> "t." + c + " = " + source.get(c)).collect(Collectors.joining(", ")));
+        }
+        return sql.append(" when not matched then insert (").append(String.join(", ", columns)).append(")")
+                .append(" values (").append(String.join(", ", source.values())).append(")")
+                .toString();
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
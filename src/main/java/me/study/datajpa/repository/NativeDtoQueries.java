@@ -0,0 +1,211 @@
+package me.study.datajpa.repository;
+
+import org.hibernate.FlushMode;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.MySQL8Dialect;
+import org.hibernate.dialect.Oracle12cDialect;
+import org.hibernate.dialect.PostgreSQL82Dialect;
+import org.hibernate.dialect.SQLServer2012Dialect;
+import org.hibernate.dialect.pagination.LimitHandler;
+import org.hibernate.engine.spi.RowSelection;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
+
+import javax.persistence.EntityManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@Component
+public class NativeDtoQueries {
+
+    private static final Pattern SORT_PROPERTY = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+    private static final Pattern ORDER_BY = Pattern.compile("(?i)\\border\\s+by\\b");
+    private static final String TOTAL_COLUMN = "native_total_count";
+
+    private final EntityManager em;
+    private final CountCache countCache;
+    private final Map<List<Object>, DtoConstructorLayout<?>> layouts = new ConcurrentHashMap<>();
+
+    public NativeDtoQueries(EntityManager em, CountCache countCache) {
+        this.em = em;
+        this.countCache = countCache;
+    }
+
+    @Transactional(readOnly = true)
+    public <T> List<T> list(String sql, Class<T> type, Object... parameters) {
+        return execute(sql, sql, null, type, parameters, null);
+    }
+
+    @Transactional(readOnly = true)
+    public <T> Page<T> page(String sql, String countSql, Pageable pageable, Class<T> type, Object... parameters) {
+        return page(sql, countSql, pageable, type, parameters, () -> count(countSql, parameters));
+    }
+
+    @Transactional(readOnly = true)
+    public <T> Page<T> page(String sql, Pageable pageable, Class<T> type, Object... parameters) {
+        String unordered = stripOrderBy(sql);
+        String countSql = "select count(*) from (" + unordered + ") c";
+        LongSupplier cachedCount = () -> countCache.getCount(countSql + Arrays.deepToString(parameters), false,
+                () -> count(countSql, parameters));
+        boolean keepsOwnOrder = pageable.getSort().isUnsorted() && !unordered.equals(sql);
+        if (pageable.isUnpaged() || keepsOwnOrder || !supportsWindowCount(session().getJdbcServices().getDialect())) {
+            return page(sql, countSql, pageable, type, parameters, cachedCount);
+        }
+
+        RowSelection selection = selection(pageable);
+        String windowSql = "select w.*, count(*) over() as " + TOTAL_COLUMN + " from (" + unordered + ") w" + orderBy(pageable.getSort());
+        long[] total = {-1};
+        List<T> content = execute(sql, windowSql, selection, type, parameters, total);
+        return PageableExecutionUtils.getPage(content, pageable, () -> total[0] >= 0 ? total[0] : cachedCount.getAsLong());
+    }
+
+    @Transactional(readOnly = true)
+    public long count(String countSql, Object... parameters) {
+        return session().doReturningWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(countSql)) {
+                bind(ps, 1, parameters);
+                try (ResultSet rs = ps.executeQuery()) {
+                    rs.next();
+                    return rs.getLong(1);
+                }
+            }
+        });
+    }
+
+    private <T> Page<T> page(String sql, String countSql, Pageable pageable, Class<T> type, Object[] parameters, LongSupplier count) {
+        if (pageable.isUnpaged()) {
+            return PageableExecutionUtils.getPage(list(sql, type, parameters), pageable, () -> 0L);
+        }
+        String sortedSql = pageable.getSort().isSorted() ? stripOrderBy(sql) + orderBy(pageable.getSort()) : sql;
+        List<T> content = execute(sql, sortedSql, selection(pageable), type, parameters, null);
+        return PageableExecutionUtils.getPage(content, pageable, count);
+    }
+
+    private <T> List<T> execute(String layoutKey, String sql, RowSelection selection, Class<T> type, Object[] parameters, long[] total) {
+        SessionImplementor session = session();
+        LimitHandler limitHandler = session.getJdbcServices().getDialect().getLimitHandler();
+        String limitedSql = selection == null ? sql : limitHandler.processSql(sql, selection);
+
+        return session.doReturningWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(limitedSql)) {
+                int index = 1;
+                if (selection != null) {
+                    index += limitHandler.bindLimitParametersAtStartOfQuery(selection, ps, index);
+                }
+                index = bind(ps, index, parameters);
+                if (selection != null) {
+                    limitHandler.bindLimitParametersAtEndOfQuery(selection, ps, index);
+                    limitHandler.setMaxRows(selection, ps);
+                }
+
+                try (ResultSet rs = ps.executeQuery()) {
+                    DtoConstructorLayout<T> layout = layout(layoutKey, type, rs);
+                    List<T> result = new ArrayList<>();
+                    while (rs.next()) {
+                        if (total != null && result.isEmpty()) {
+                            total[0] = rs.getLong(TOTAL_COLUMN);
+                        }
+                        result.add(layout.map(rs));
+                    }
+                    return result;
+                }
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> DtoConstructorLayout<T> layout(String sql, Class<T> type, ResultSet rs) throws SQLException {
+        List<Object> key = Arrays.asList(type, sql);
+        DtoConstructorLayout<?> layout = layouts.get(key);
+        if (layout == null) {
+            layout = DtoConstructorLayout.resolve(type, rs.getMetaData());
+            layouts.putIfAbsent(key, layout);
+        }
+        return (DtoConstructorLayout<T>) layout;
+    }
+
+    private SessionImplementor session() {
+        SessionImplementor session = em.unwrap(SessionImplementor.class);
+        if (session.getHibernateFlushMode() != FlushMode.MANUAL) {
+            session.flush();
+        }
+        return session;
+    }
+
+    private static RowSelection selection(Pageable pageable) {
+        RowSelection selection = new RowSelection();
+        selection.setFirstRow((int) pageable.getOffset());
+        selection.setMaxRows(pageable.getPageSize());
+        return selection;
+    }
+
+    private static boolean supportsWindowCount(Dialect dialect) {
+        return dialect instanceof H2Dialect
+                || dialect instanceof PostgreSQL82Dialect
+                || dialect instanceof MySQL8Dialect
+                || dialect instanceof Oracle12cDialect
+                || dialect instanceof SQLServer2012Dialect;
+    }
+
+    private static int bind(PreparedStatement ps, int index, Object[] parameters) throws SQLException {
+        for (Object parameter : parameters) {
+            StatementCreatorUtils.setParameterValue(ps, index++, SqlTypeValue.TYPE_UNKNOWN, parameter);
+        }
+        return index;
+    }
+
+    private static String stripOrderBy(String sql) {
+        Matcher orderBy = ORDER_BY.matcher(sql).useTransparentBounds(true);
+        int depth = 0;
+        int start = -1;
+        boolean quoted = false;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (quoted) {
+                continue;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (depth == 0 && orderBy.region(i, sql.length()).lookingAt()) {
+                start = i;
+            }
+            Assert.isTrue(depth >= 0, "Unbalanced parentheses in native query: " + sql);
+        }
+        Assert.isTrue(depth == 0 && !quoted, "Unbalanced native query: " + sql);
+        return start < 0 ? sql : sql.substring(0, start).trim();
+    }
+
+    private static String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return "";
+        }
+        return sort.stream()
+                .map(order -> {
+                    Assert.isTrue(SORT_PROPERTY.matcher(order.getProperty()).matches(), "Invalid sort property: " + order.getProperty());
+                    return order.getProperty() + (order.isAscending() ? " asc" : " desc");
+                })
+                .collect(Collectors.joining(", ", " order by ", ""));
+    }
+}
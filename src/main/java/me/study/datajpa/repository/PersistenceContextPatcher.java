@@ -0,0 +1,44 @@
+package me.study.datajpa.repository;
+
+import org.hibernate.engine.internal.Versioning;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.Status;
+import org.hibernate.persister.entity.EntityPersister;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+public class PersistenceContextPatcher {
+
+    public static <T> int patch(EntityManager em, Class<T> type, Predicate<? super T> affected, Consumer<? super T> change) {
+        SessionImplementor session = em.unwrap(SessionImplementor.class);
+
+        List<Map.Entry<Object, EntityEntry>> targets = new ArrayList<>();
+        for (Map.Entry<Object, EntityEntry> managed : session.getPersistenceContext().reentrantSafeEntityEntries()) {
+            if (type.isInstance(managed.getKey()) && affected.test(type.cast(managed.getKey()))) {
+                targets.add(managed);
+            }
+        }
+
+        for (Map.Entry<Object, EntityEntry> target : targets) {
+            T entity = type.cast(target.getKey());
+            EntityEntry entry = target.getValue();
+            change.accept(entity);
+            if (entry.getStatus() == Status.MANAGED) {
+                EntityPersister persister = entry.getPersister();
+                Object version = entry.getVersion();
+                if (persister.isVersioned()) {
+                    version = Versioning.increment(version, persister.getVersionType(), session);
+                    persister.setPropertyValue(entity, persister.getVersionProperty(), version);
+                }
+                entry.postUpdate(entity, persister.getPropertyValues(entity), version);
+            }
+        }
+        return targets.size();
+    }
+}
@@ -0,0 +1,29 @@
+package me.study.datajpa.repository;
+
+import java.util.function.Function;
+
+public class ProjectionMapping<T> {
+
+    private final String alias;
+    private final String query;
+    private final Function<Object[], Object> reader;
+
+    ProjectionMapping(String alias, String query, Function<Object[], Object> reader) {
+        this.alias = alias;
+        this.query = query;
+        this.reader = reader;
+    }
+
+    public String getAlias() {
+        return alias;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T map(Object row) {
+        return (T) reader.apply(row instanceof Object[] ? (Object[]) row : new Object[]{row});
+    }
+}
@@ -0,0 +1,51 @@
+package me.study.datajpa.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+@Component
+public class SpecificationQueryCache {
+
+    private final EntityManager em;
+    private final Map<List<Object>, String> queries = new ConcurrentHashMap<>();
+
+    public SpecificationQueryCache(EntityManager em) {
+        this.em = em;
+    }
+
+    public <T> TypedQuery<T> createQuery(Class<T> type, String name, Map<String, ?> parameters,
+                                         Function<Set<String>, Specification<T>> specification) {
+        Set<String> shape = new HashSet<>(parameters.keySet());
+        String jpql = queries.computeIfAbsent(Arrays.asList(type, name, shape),
+                key -> render(type, specification.apply(shape)));
+
+        TypedQuery<T> query = em.createQuery(jpql, type);
+        parameters.forEach(query::setParameter);
+        return query;
+    }
+
+    private <T> String render(Class<T> type, Specification<T> specification) {
+        CriteriaBuilder builder = em.getCriteriaBuilder();
+        CriteriaQuery<T> criteria = builder.createQuery(type);
+        Root<T> root = criteria.from(type);
+        Predicate predicate = specification.toPredicate(root, criteria, builder);
+        if (predicate != null) {
+            criteria.where(predicate);
+        }
+        return em.createQuery(criteria).unwrap(org.hibernate.query.Query.class).getQueryString();
+    }
+}
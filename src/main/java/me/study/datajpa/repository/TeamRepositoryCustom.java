@@ -0,0 +1,13 @@
+package me.study.datajpa.repository;
+
+import me.study.datajpa.entity.Team;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+public interface TeamRepositoryCustom {
+
+    Slice<Team> findTeamSliceWithMembers(Pageable pageable);
+
+    Page<Team> findTeamPageWithMembers(Pageable pageable);
+}
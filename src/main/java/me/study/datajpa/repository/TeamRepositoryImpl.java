@@ -0,0 +1,30 @@
+package me.study.datajpa.repository;
+
+import me.study.datajpa.entity.Team;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+
+public class TeamRepositoryImpl implements TeamRepositoryCustom {
+
+    private final TwoPhasePagingQuery<Team> teamsWithMembers;
+
+    public TeamRepositoryImpl(EntityManager em) {
+        this.teamsWithMembers = new TwoPhasePagingQuery<>(em, Team.class, "members");
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Team> findTeamSliceWithMembers(Pageable pageable) {
+        return teamsWithMembers.getSlice(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Team> findTeamPageWithMembers(Pageable pageable) {
+        return teamsWithMembers.getPage(pageable);
+    }
+}
@@ -0,0 +1,85 @@
+package me.study.datajpa.repository;
+
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.JpaEntityInformationSupport;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+
+import javax.persistence.EntityManager;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TwoPhasePagingQuery<T> {
+
+    private static final String ALIAS = "e";
+
+    private final EntityManager em;
+    private final Class<T> type;
+    private final JpaEntityInformation<T, ?> entityInformation;
+    private final String idAttribute;
+    private final String fetchJoins;
+
+    public TwoPhasePagingQuery(EntityManager em, Class<T> type, String... fetchPaths) {
+        this.em = em;
+        this.type = type;
+        this.entityInformation = JpaEntityInformationSupport.getEntityInformation(type, em);
+        this.idAttribute = entityInformation.getIdAttribute().getName();
+
+        StringBuilder joins = new StringBuilder();
+        for (String fetchPath : fetchPaths) {
+            joins.append(" left join fetch ").append(ALIAS).append('.').append(fetchPath);
+        }
+        this.fetchJoins = joins.toString();
+    }
+
+    public Page<T> getPage(Pageable pageable) {
+        String from = " from " + entityInformation.getEntityName() + " " + ALIAS;
+        List<?> ids = ids(from, pageable, pageable.getPageSize());
+
+        List<T> content = ids.isEmpty() ? Collections.emptyList() : fetch(from, ids);
+        return PageableExecutionUtils.getPage(content, pageable, () ->
+                em.createQuery("select count(" + ALIAS + ")" + from, Long.class).getSingleResult());
+    }
+
+    public Slice<T> getSlice(Pageable pageable) {
+        String from = " from " + entityInformation.getEntityName() + " " + ALIAS;
+        List<?> ids = ids(from, pageable, pageable.getPageSize() + 1);
+
+        boolean hasNext = ids.size() > pageable.getPageSize();
+        List<?> pageIds = hasNext ? ids.subList(0, pageable.getPageSize()) : ids;
+        List<T> content = pageIds.isEmpty() ? Collections.emptyList() : fetch(from, pageIds);
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    private List<?> ids(String from, Pageable pageable, int maxResults) {
+        Sort sort = pageable.getSort().and(Sort.by(idAttribute));
+        return em.createQuery(QueryUtils.applySorting("select " + ALIAS + "." + idAttribute + from, sort, ALIAS))
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(maxResults)
+                .getResultList();
+    }
+
+    private List<T> fetch(String from, List<?> ids) {
+        List<T> content = em.createQuery("select distinct " + ALIAS + from + fetchJoins +
+                " where " + ALIAS + "." + idAttribute + " in :ids", type)
+                .setParameter("ids", ids)
+                .setHint(QueryHints.HINT_PASS_DISTINCT_THROUGH, false)
+                .getResultList();
+
+        Map<Object, Integer> order = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            order.put(ids.get(i), i);
+        }
+        content.sort(Comparator.comparing(entity -> order.get(entityInformation.getId(entity))));
+        return content;
+    }
+}
@@ -0,0 +1,8 @@
+package me.study.datajpa.repository;
+
+public interface UpsertRepository<T> {
+
+    <S extends T> S upsert(S entity);
+
+    int upsertAll(Iterable<? extends T> entities);
+}
@@ -0,0 +1,92 @@
+package me.study.datajpa.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.auditing.IsNewAwareAuditingHandler;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@RequiredArgsConstructor
+public class UpsertRepositoryImpl<T> implements UpsertRepository<T> {
+
+    private final EntityManager em;
+    private final ObjectProvider<IsNewAwareAuditingHandler> auditingHandler;
+    private final Map<String, MergeStatement> statements = new ConcurrentHashMap<>();
+
+    @Override
+    @Transactional
+    public <S extends T> S upsert(S entity) {
+        upsertAll(Collections.singletonList(entity));
+        return entity;
+    }
+
+    @Override
+    @Transactional
+    public int upsertAll(Iterable<? extends T> entities) {
+        SessionImplementor session = em.unwrap(SessionImplementor.class);
+        session.flush();
+
+        Map<EntityPersister, List<Object>> byPersister = new LinkedHashMap<>();
+        for (T entity : entities) {
+            byPersister.computeIfAbsent(session.getEntityPersister(null, entity), key -> new ArrayList<>()).add(entity);
+        }
+
+        int count = 0;
+        for (Map.Entry<EntityPersister, List<Object>> entry : byPersister.entrySet()) {
+            count += execute(session, entry.getKey(), entry.getValue());
+        }
+        return count;
+    }
+
+    private int execute(SessionImplementor session, EntityPersister persister, List<Object> entities) {
+        MergeStatement statement = statements.computeIfAbsent(persister.getEntityName(),
+                key -> new MergeStatement((AbstractEntityPersister) persister, session.getJdbcServices().getDialect()));
+        int batchSize = Math.max(1, session.getFactory().getSessionFactoryOptions().getJdbcBatchSize());
+        IsNewAwareAuditingHandler auditing = auditingHandler.getIfUnique();
+        if (auditing != null) {
+            entities.forEach(auditing::markAudited);
+        }
+
+        session.doWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(statement.getSql())) {
+                int pending = 0;
+                for (Object entity : entities) {
+                    statement.bind(ps, entity, session);
+                    ps.addBatch();
+                    if (++pending == batchSize) {
+                        ps.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    ps.executeBatch();
+                }
+            }
+        });
+
+        for (Object entity : entities) {
+            Serializable id = persister.getIdentifier(entity, session);
+            Object managed = session.getPersistenceContext().getEntity(new EntityKey(id, persister));
+            if (managed != null && managed != entity) {
+                session.evict(managed);
+            }
+            if (persister.canWriteToCache()) {
+                session.getFactory().getCache().evictEntityData(persister.getEntityName(), id);
+            }
+        }
+        return entities.size();
+    }
+}
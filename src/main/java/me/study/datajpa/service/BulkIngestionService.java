@@ -0,0 +1,58 @@
+package me.study.datajpa.service;
+
+import lombok.extern.slf4j.Slf4j;
+import me.study.datajpa.repository.CountCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+@Slf4j
+@Service
+public class BulkIngestionService {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private final CountCache countCache;
+    private final int flushSize;
+
+    public BulkIngestionService(CountCache countCache,
+                                @Value("${datajpa.ingestion.flush-size:100}") int flushSize) {
+        Assert.isTrue(flushSize > 0, "Flush size must be greater than zero");
+        this.countCache = countCache;
+        this.flushSize = flushSize;
+    }
+
+    @Transactional
+    public IngestionResult ingest(Iterable<?> entities) {
+        long start = System.nanoTime();
+        long rows = 0;
+
+        for (Object entity : entities) {
+            em.persist(entity);
+            if (++rows % flushSize == 0) {
+                em.flush();
+                em.clear();
+            }
+        }
+        em.flush();
+        em.clear();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                countCache.invalidateAll();
+            }
+        });
+
+        IngestionResult result = new IngestionResult(rows, System.nanoTime() - start);
+        log.info("Ingested {} rows in {} ms ({} rows/sec)",
+                result.getRows(), result.getElapsedMillis(), String.format("%.1f", result.getRowsPerSecond()));
+        return result;
+    }
+}
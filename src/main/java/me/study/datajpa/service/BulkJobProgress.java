@@ -0,0 +1,30 @@
+package me.study.datajpa.service;
+
+import lombok.Getter;
+import lombok.ToString;
+import me.study.datajpa.entity.BulkJobChunk;
+
+import java.util.List;
+
+@Getter
+@ToString
+public class BulkJobProgress {
+
+    private final String jobName;
+    private final int totalChunks;
+    private final int completedChunks;
+    private final int failedChunks;
+    private final long updatedRows;
+
+    public BulkJobProgress(String jobName, List<BulkJobChunk> chunks) {
+        this.jobName = jobName;
+        this.totalChunks = chunks.size();
+        this.completedChunks = (int) chunks.stream().filter(BulkJobChunk::isCompleted).count();
+        this.failedChunks = (int) chunks.stream().filter(chunk -> chunk.getStatus() == BulkJobChunk.Status.FAILED).count();
+        this.updatedRows = chunks.stream().mapToLong(BulkJobChunk::getUpdatedRows).sum();
+    }
+
+    public boolean isCompleted() {
+        return completedChunks == totalChunks;
+    }
+}
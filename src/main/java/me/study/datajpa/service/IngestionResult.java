@@ -0,0 +1,27 @@
+package me.study.datajpa.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.concurrent.TimeUnit;
+
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class IngestionResult {
+
+    private final long rows;
+    private final long elapsedNanos;
+
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    }
+
+    public double getRowsPerSecond() {
+        if (elapsedNanos == 0) {
+            return 0;
+        }
+        return rows * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+}
@@ -0,0 +1,88 @@
+package me.study.datajpa.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import me.study.datajpa.dto.MemberDto;
+import me.study.datajpa.repository.MemberRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class MemberExportService {
+
+    private final MemberRepository memberRepository;
+    private final ObjectWriter objectWriter;
+    private final int fetchSize;
+
+    public MemberExportService(MemberRepository memberRepository,
+                               ObjectMapper objectMapper,
+                               @Value("${datajpa.export.fetch-size:500}") int fetchSize) {
+        this.memberRepository = memberRepository;
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.fetchSize = fetchSize;
+    }
+
+    @Transactional(readOnly = true)
+    public long export(ExportFormat format, Writer writer) throws IOException {
+        try (Stream<MemberDto> members = memberRepository.streamAll(fetchSize)) {
+            Iterator<MemberDto> rows = members.iterator();
+            return format == ExportFormat.CSV ? writeCsv(rows, writer) : writeNdjson(rows, writer);
+        }
+    }
+
+    private long writeNdjson(Iterator<MemberDto> rows, Writer writer) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = objectWriter.getFactory().createGenerator(writer)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            while (rows.hasNext()) {
+                objectWriter.writeValue(generator, rows.next());
+                count++;
+            }
+            if (count > 0) {
+                generator.writeRaw('\n');
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private long writeCsv(Iterator<MemberDto> rows, Writer writer) throws IOException {
+        long count = 0;
+        writer.write("id,username,teamName\n");
+        while (rows.hasNext()) {
+            MemberDto row = rows.next();
+            writer.write(String.valueOf(row.getId()));
+            writer.write(',');
+            writeCsvValue(writer, row.getUsername());
+            writer.write(',');
+            writeCsvValue(writer, row.getTeamName());
+            writer.write('\n');
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private void writeCsvValue(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,43 @@
+package me.study.datajpa.service;
+
+import lombok.RequiredArgsConstructor;
+import me.study.datajpa.entity.Member;
+import me.study.datajpa.repository.MemberRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityNotFoundException;
+import java.util.Collections;
+
+@Service
+@RequiredArgsConstructor
+public class MemberService {
+
+    private final MemberRepository memberRepository;
+    private final PartitionedBulkUpdateExecutor bulkUpdateExecutor;
+
+    @RetryOnOptimisticLock
+    @Transactional
+    public Member addAge(Long memberId, int delta) {
+        Member member = memberRepository.findById(memberId)
+                .orElseThrow(() -> new EntityNotFoundException("Member not found: " + memberId));
+        member.setAge(member.getAge() + delta);
+        return member;
+    }
+
+    @Transactional
+    public Member addAgeWithLock(String username, int delta) {
+        Member member = memberRepository.findLockByUsername(username).stream()
+                .findFirst()
+                .orElseThrow(() -> new EntityNotFoundException("Member not found: " + username));
+        member.setAge(member.getAge() + delta);
+        return member;
+    }
+
+    public BulkJobProgress bulkAgePlus(String jobName, int age) {
+        return bulkUpdateExecutor.execute(jobName, "Member",
+                "update versioned Member m set m.age = m.age + 1" +
+                        " where m.age >= :age and m.id >= :fromId and m.id < :toId",
+                Collections.singletonMap("age", age));
+    }
+}
@@ -0,0 +1,54 @@
+package me.study.datajpa.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ClassUtils;
+
+import javax.persistence.OptimisticLockException;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@RequiredArgsConstructor
+public class OptimisticLockRetryAspect {
+
+    private final MeterRegistry registry;
+
+    @Around("@annotation(retry)")
+    public Object retry(ProceedingJoinPoint joinPoint, RetryOnOptimisticLock retry) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        String method = ClassUtils.getUserClass(joinPoint.getTarget()).getSimpleName() + "."
+                + ((MethodSignature) joinPoint.getSignature()).getMethod().getName();
+        long backoff = retry.backoffMillis();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                if (attempt >= retry.maxAttempts()) {
+                    registry.counter("optimistic.lock.failures", "method", method).increment();
+                    throw e;
+                }
+                registry.counter("optimistic.lock.retries", "method", method).increment();
+                log.debug("Optimistic lock conflict in {}, attempt {}/{}", method, attempt, retry.maxAttempts());
+
+                Thread.sleep(ThreadLocalRandom.current().nextLong(backoff + 1));
+                backoff = Math.min((long) (backoff * retry.multiplier()), retry.maxBackoffMillis());
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package me.study.datajpa.service;
+
+import lombok.extern.slf4j.Slf4j;
+import me.study.datajpa.entity.BulkJobChunk;
+import me.study.datajpa.repository.BulkJobChunkRepository;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Service
+public class PartitionedBulkUpdateExecutor implements DisposableBean {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private final BulkJobChunkRepository chunkRepository;
+    private final TransactionTemplate requiresNew;
+    private final ThreadPoolTaskExecutor executor;
+    private final int chunkSize;
+
+    public PartitionedBulkUpdateExecutor(BulkJobChunkRepository chunkRepository,
+                                         PlatformTransactionManager transactionManager,
+                                         @Value("${datajpa.bulk-update.chunk-size:1000}") int chunkSize,
+                                         @Value("${datajpa.bulk-update.parallelism:4}") int parallelism) {
+        this.chunkRepository = chunkRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = chunkSize;
+
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(parallelism);
+        this.executor.setMaxPoolSize(parallelism);
+        this.executor.setThreadNamePrefix("bulk-update-");
+        this.executor.initialize();
+    }
+
+    /**
+     * Runs every unfinished chunk of the job. Each call first extends the plan with chunks for ids above the last
+     * planned bound, so rows inserted since the job was planned are covered when it is resumed or run again.
+     */
+    public BulkJobProgress execute(String jobName, String entityName, String updateQuery, Map<String, ?> parameters) {
+        Assert.state(!TransactionSynchronizationManager.isActualTransactionActive(),
+                "Partitioned bulk updates run their chunks in separate transactions and must not be called inside one");
+
+        List<BulkJobChunk> chunks = plan(jobName, entityName);
+        List<BulkJobChunk> remaining = new ArrayList<>();
+        chunks.stream().filter(chunk -> !chunk.isCompleted()).forEach(remaining::add);
+        if (remaining.size() < chunks.size()) {
+            log.info("Resuming bulk job {}: {}/{} chunks already completed", jobName, chunks.size() - remaining.size(), chunks.size());
+        }
+
+        AtomicInteger completed = new AtomicInteger(chunks.size() - remaining.size());
+        CompletableFuture.allOf(remaining.stream()
+                .map(chunk -> CompletableFuture.runAsync(
+                        () -> executeChunk(chunk, updateQuery, parameters, completed, chunks.size()), executor))
+                .toArray(CompletableFuture[]::new))
+                .join();
+
+        BulkJobProgress progress = progress(jobName);
+        log.info("Bulk job {} finished: {}", jobName, progress);
+        return progress;
+    }
+
+    public BulkJobProgress progress(String jobName) {
+        return new BulkJobProgress(jobName, chunkRepository.findByJobNameOrderByFromId(jobName));
+    }
+
+    private List<BulkJobChunk> plan(String jobName, String entityName) {
+        try {
+            return requiresNew.execute(status -> extendPlan(jobName, entityName));
+        } catch (DataIntegrityViolationException e) {
+            log.info("Bulk job {} was planned concurrently, joining the existing plan", jobName);
+            return requiresNew.execute(status -> extendPlan(jobName, entityName));
+        }
+    }
+
+    private List<BulkJobChunk> extendPlan(String jobName, String entityName) {
+        List<BulkJobChunk> chunks = chunkRepository.findByJobNameOrderByFromId(jobName);
+        Object[] range = em.createQuery("select min(e.id), max(e.id) from " + entityName + " e", Object[].class)
+                .getSingleResult();
+        if (range[0] == null) {
+            return chunks;
+        }
+        long startId = chunks.isEmpty() ? ((Number) range[0]).longValue() : chunks.get(chunks.size() - 1).getToId();
+        long maxId = ((Number) range[1]).longValue();
+
+        List<BulkJobChunk> planned = new ArrayList<>();
+        for (long fromId = startId; fromId <= maxId; fromId += chunkSize) {
+            planned.add(new BulkJobChunk(jobName, fromId, Math.min(fromId + chunkSize, maxId + 1)));
+        }
+        if (!planned.isEmpty()) {
+            chunks.addAll(chunkRepository.saveAll(planned));
+            chunkRepository.flush();
+        }
+        return chunks;
+    }
+
+    private void executeChunk(BulkJobChunk chunk, String updateQuery, Map<String, ?> parameters,
+                              AtomicInteger completed, int total) {
+        try {
+            Integer updatedRows = requiresNew.execute(status -> {
+                BulkJobChunk locked = em.find(BulkJobChunk.class, chunk.getId(), LockModeType.PESSIMISTIC_WRITE);
+                if (locked.isCompleted()) {
+                    return null;
+                }
+
+                Query query = em.createQuery(updateQuery)
+                        .setParameter("fromId", chunk.getFromId())
+                        .setParameter("toId", chunk.getToId());
+                parameters.forEach(query::setParameter);
+                int rows = query.executeUpdate();
+                locked.complete(rows);
+                return rows;
+            });
+            if (updatedRows != null) {
+                log.info("Bulk job {}: ids [{}, {}) updated {} rows ({}/{} chunks)", chunk.getJobName(),
+                        chunk.getFromId(), chunk.getToId(), updatedRows, completed.incrementAndGet(), total);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Bulk job {}: ids [{}, {}) failed", chunk.getJobName(), chunk.getFromId(), chunk.getToId(), e);
+            requiresNew.execute(status -> {
+                em.find(BulkJobChunk.class, chunk.getId()).fail(e.getMessage());
+                return null;
+            });
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,19 @@
+package me.study.datajpa.service;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnOptimisticLock {
+
+    int maxAttempts() default 5;
+
+    long backoffMillis() default 10;
+
+    double multiplier() default 2.0;
+
+    long maxBackoffMillis() default 500;
+}
@@ -0,0 +1,133 @@
+package me.study.datajpa.auditing;
+
+import me.study.datajpa.entity.Member;
+import me.study.datajpa.entity.Team;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class AuditingTest {
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    public void auditingSharesTickUntilFlush() throws Exception {
+
+        // Given
+        Team team = new Team("AuditTeam");
+        Member member1 = new Member("AuditMember1", 10, team);
+        Member member2 = new Member("AuditMember2", 20, team);
+
+        // When
+        em.persist(team);
+        em.persist(member1);
+        Thread.sleep(5);
+        em.persist(member2);
+        em.flush();
+
+        Thread.sleep(5);
+        Member member3 = new Member("AuditMember3", 30, team);
+        em.persist(member3);
+        em.flush();
+
+        // Then
+        assertThat(member1.getCreatedDate()).isEqualTo(team.getCreatedDate());
+        assertThat(member2.getCreatedDate()).isEqualTo(member1.getCreatedDate());
+        assertThat(member3.getCreatedDate()).isAfter(member1.getCreatedDate());
+        assertThat(member1.getCreateBy()).isEqualTo(0L);
+        assertThat(member3.getLastModifiedBy()).isEqualTo(0L);
+    }
+
+    @Test
+    public void auditorResolvedOncePerTransaction() {
+
+        // Given
+        AtomicInteger resolved = new AtomicInteger();
+        TransactionScopedAuditorAware<Long> auditorAware = new TransactionScopedAuditorAware<>(() ->
+                Optional.of((long) resolved.incrementAndGet()));
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            em.persist(new Member("AuditMember" + i, i));
+            auditorAware.getCurrentAuditor();
+        }
+
+        // Then
+        assertThat(auditorAware.getCurrentAuditor()).contains(1L);
+        assertThat(resolved.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void tickSynchronizationRegisteredOncePerTransaction() {
+
+        // Given
+        AuditClock.now();
+        int synchronizations = TransactionSynchronizationManager.getSynchronizations().size();
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            AuditClock.reset();
+            AuditClock.now();
+        }
+
+        // Then
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).hasSize(synchronizations);
+    }
+
+    @Test
+    public void requiresNewTransactionHasItsOwnTick() throws Exception {
+
+        // Given
+        LocalDateTime outer = AuditClock.now();
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Thread.sleep(5);
+
+        // When
+        LocalDateTime inner = requiresNew.execute(status -> AuditClock.now());
+
+        // Then
+        assertThat(inner).isAfter(outer);
+        assertThat(AuditClock.now()).isEqualTo(outer);
+    }
+
+    @Test
+    public void requiresNewTransactionResolvesItsOwnAuditor() {
+
+        // Given
+        AtomicInteger resolved = new AtomicInteger();
+        TransactionScopedAuditorAware<Long> auditorAware = new TransactionScopedAuditorAware<>(() ->
+                Optional.of((long) resolved.incrementAndGet()));
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Optional<Long> outer = auditorAware.getCurrentAuditor();
+
+        // When
+        Optional<Long> inner = requiresNew.execute(status -> auditorAware.getCurrentAuditor());
+
+        // Then
+        assertThat(outer).contains(1L);
+        assertThat(inner).contains(2L);
+        assertThat(auditorAware.getCurrentAuditor()).contains(1L);
+        assertThat(resolved.get()).isEqualTo(2);
+    }
+}
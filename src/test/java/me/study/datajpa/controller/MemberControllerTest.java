@@ -0,0 +1,148 @@
+package me.study.datajpa.controller;
+
+import me.study.datajpa.entity.Member;
+import me.study.datajpa.entity.Team;
+import me.study.datajpa.monitoring.SqlBudgetFilter;
+import me.study.datajpa.monitoring.SqlStatistics;
+import me.study.datajpa.repository.MemberRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"datajpa.sql-budget.fail-on-violation=true", "spring.jpa.hibernate.ddl-auto=update"})
+@AutoConfigureMockMvc
+@Transactional
+class MemberControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Test
+    public void listIssuesNoStatementPerRow() throws Exception {
+
+        // Given
+        for (int i = 0; i < 10; i++) {
+            Team team = new Team("Team" + i);
+            em.persist(team);
+            em.persist(new Member("Member" + i, i, team));
+            em.persist(new Member("Member" + i, i, team));
+        }
+        em.flush();
+        em.clear();
+
+        // When
+        SqlStatistics firstPage = (SqlStatistics) mockMvc.perform(get("/members").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(10))
+                .andReturn().getRequest().getAttribute(SqlBudgetFilter.STATISTICS_ATTRIBUTE);
+
+        SqlStatistics secondPage = (SqlStatistics) mockMvc.perform(get("/members").param("page", "1").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].teamName").exists())
+                .andReturn().getRequest().getAttribute(SqlBudgetFilter.STATISTICS_ATTRIBUTE);
+
+        // Then
+        assertThat(firstPage.getStatementCount()).isLessThanOrEqualTo(2);
+        assertThat(secondPage.getStatementCount()).isEqualTo(1);
+        assertThat(secondPage.getRowCount()).isEqualTo(10);
+    }
+
+    @Test
+    public void keysetRejectsInvalidInput() throws Exception {
+
+        // When / Then
+        mockMvc.perform(get("/members/keyset").param("size", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/members/keyset").param("token", "not-a-token"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void export() throws Exception {
+
+        // Given
+        Team team = new Team("Team, \"A\"");
+        em.persist(team);
+        em.persist(new Member("Member1", 10, team));
+        em.persist(new Member("Member2", 20));
+        em.flush();
+        em.clear();
+
+        // When
+        String csv = mockMvc.perform(get("/members/export").param("format", "CSV"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andReturn().getResponse().getContentAsString();
+
+        String ndjson = mockMvc.perform(get("/members/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        // Then
+        assertThat(ndjson).contains("\"username\":\"Member1\"", "\"teamName\":null");
+        assertThat(ndjson.split("\n").length).isEqualTo(csv.split("\n").length - 1);
+
+        String[] lines = csv.split("\n");
+        assertThat(lines[0]).isEqualTo("id,username,teamName");
+        assertThat(lines).anyMatch(line -> line.endsWith(",Member1,\"Team, \"\"A\"\"\""));
+        assertThat(lines).anyMatch(line -> line.endsWith(",Member2,"));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void asyncEndpointsRunOffServletThread() throws Exception {
+
+        // Given
+        Member member = memberRepository.save(new Member("AsyncEndpointMember", 10));
+
+        try {
+            // When
+            MvcResult found = mockMvc.perform(get("/async/members/{id}", member.getId()))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            MvcResult missing = mockMvc.perform(get("/async/members/{id}", -1L))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            MvcResult searched = mockMvc.perform(get("/async/members/search").param("username", "AsyncEndpointMember"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // Then
+            assertThat(found.getRequest().getAttribute(SqlBudgetFilter.STATISTICS_ATTRIBUTE)).isNull();
+            mockMvc.perform(asyncDispatch(found))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.username").value("AsyncEndpointMember"));
+            mockMvc.perform(asyncDispatch(missing))
+                    .andExpect(status().isNotFound());
+            mockMvc.perform(asyncDispatch(searched))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(1))
+                    .andExpect(jsonPath("$[0].id").value(member.getId()));
+        } finally {
+            memberRepository.deleteById(member.getId());
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package me.study.datajpa.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"datajpa.datasource.replica.url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1", "spring.jpa.hibernate.ddl-auto=none",
+        "spring.datasource.hikari.maximum-pool-size=7"})
+class ReplicationRoutingDataSourceTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    DataSource replicaDataSource;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    HikariDataSource primaryDataSource;
+
+    @Test
+    public void routesReadOnlyTransactionsToReplica() {
+
+        // Given
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        // When
+        Object primary = readWrite.execute(status -> currentDatabase());
+        Object replica = readOnly.execute(status -> currentDatabase());
+        Object nested = readWrite.execute(status -> readOnly.execute(inner -> currentDatabase()));
+
+        // Then
+        assertThat(replica).isEqualTo("REPLICA");
+        assertThat(primary).isNotEqualTo("REPLICA");
+        assertThat(nested).isEqualTo(primary);
+        assertThat(primaryDataSource.getMaximumPoolSize()).isEqualTo(7);
+    }
+
+    @Test
+    public void replicaBehindMaxLagIsTakenOutOfRotation() {
+
+        // Given
+        ReplicaHealth lagging = new ReplicaHealth(replicaDataSource, "select 3600", Duration.ofSeconds(5), Duration.ofSeconds(5));
+        ReplicaHealth caughtUp = new ReplicaHealth(replicaDataSource, "select 0", Duration.ofSeconds(5), Duration.ofSeconds(5));
+
+        // When
+        lagging.probe();
+        caughtUp.probe();
+        boolean laggingAvailable = lagging.isAvailable();
+        boolean caughtUpAvailable = caughtUp.isAvailable();
+
+        // Then
+        assertThat(laggingAvailable).isFalse();
+        assertThat(caughtUpAvailable).isTrue();
+    }
+
+    @Test
+    public void unreachableReplicaFailsFastWithoutBlockingRouting() {
+
+        // Given
+        HikariDataSource unreachable = new HikariDataSource();
+        unreachable.setJdbcUrl("jdbc:h2:tcp://localhost:1/unreachable");
+        unreachable.setConnectionTimeout(250);
+        ReplicaHealth health = new ReplicaHealth(unreachable, "", Duration.ofSeconds(5), Duration.ofMinutes(1));
+
+        // When
+        long start = System.nanoTime();
+        health.afterPropertiesSet();
+        long probeMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        start = System.nanoTime();
+        boolean available = health.isAvailable();
+        long routingMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        health.destroy();
+        unreachable.close();
+
+        // Then
+        assertThat(available).isFalse();
+        assertThat(probeMillis).isLessThan(5000);
+        assertThat(routingMillis).isLessThan(50);
+    }
+
+    private Object currentDatabase() {
+        return em.createNativeQuery("select database()").getSingleResult();
+    }
+}
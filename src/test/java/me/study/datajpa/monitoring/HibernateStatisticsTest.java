@@ -0,0 +1,62 @@
+package me.study.datajpa.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import me.study.datajpa.entity.Member;
+import me.study.datajpa.repository.MemberRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"datajpa.hibernate-statistics.enabled=true", "datajpa.hibernate-statistics.slow-query-threshold=0ms",
+        "spring.jpa.hibernate.ddl-auto=update"})
+@Transactional
+class HibernateStatisticsTest {
+
+    @Autowired
+    MeterRegistry registry;
+
+    @Autowired
+    SlowQueryEndpoint slowQueryEndpoint;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Test
+    public void publishesEntityAndQueryStatistics() {
+
+        // Given
+        Member member = memberRepository.save(new Member("StatsMember", 10));
+        em.flush();
+        em.clear();
+
+        // When
+        memberRepository.findById(member.getId());
+        memberRepository.findByUsernameAndAgeGreaterThan("StatsMember", 5);
+
+        // Then
+        assertThat(registry.get("hibernate.entity.inserts").tags("entity", "Member")
+                .functionCounter().count()).isGreaterThanOrEqualTo(1);
+        assertThat(registry.get("hibernate.entity.loads").tags("entity", "Member")
+                .functionCounter().count()).isGreaterThanOrEqualTo(1);
+
+        List<SlowQueryEndpoint.QueryTiming> slowQueries = slowQueryEndpoint.slowQueries();
+        assertThat(slowQueries).isNotEmpty();
+        assertThat(slowQueries).extracting(SlowQueryEndpoint.QueryTiming::getExecutionCount)
+                .allMatch(count -> count >= 1);
+        assertThat(new SlowQueryEndpoint(entityManagerFactory, 10, Duration.ofHours(1)).slowQueries()).isEmpty();
+    }
+}
@@ -0,0 +1,51 @@
+package me.study.datajpa.monitoring;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"datajpa.index-advisor.enabled=true", "spring.jpa.hibernate.ddl-auto=update"})
+class IndexAdvisorTest {
+
+    @Autowired
+    IndexAdvisor indexAdvisor;
+
+    @Test
+    public void repositoryQueriesAreIndexed() {
+
+        // When
+        List<IndexAdvisor.IndexAdvice> advice = indexAdvisor.analyze();
+
+        // Then
+        assertThat(advice).isEmpty();
+    }
+
+    @Test
+    public void suggestsIndexForUnindexedPredicate() {
+
+        // When
+        List<IndexAdvisor.IndexAdvice> advice = indexAdvisor.analyzeJpql("createdAfter",
+                "select m from Member m join m.team t where t.name = :name and m.createdDate > :date order by m.createdDate");
+
+        // Then
+        assertThat(advice).extracting(IndexAdvisor.IndexAdvice::getDdl)
+                .containsExactly("create index idx_member_created_date on member (created_date)");
+        assertThat(advice.get(0).getSources()).containsExactly("createdAfter");
+    }
+
+    @Test
+    public void suggestsCompositeIndexWhenOnlyRangeColumnIsIndexed() {
+
+        // When
+        List<IndexAdvisor.IndexAdvice> advice = indexAdvisor.analyzeJpql("teamAndAge",
+                "select m from Member m where m.team.id = :teamId and m.age > :age");
+
+        // Then
+        assertThat(advice).extracting(IndexAdvisor.IndexAdvice::getDdl)
+                .containsExactly("create index idx_member_team_id_age on member (team_id, age)");
+    }
+}
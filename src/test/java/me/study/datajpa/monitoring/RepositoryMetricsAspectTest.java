@@ -0,0 +1,49 @@
+package me.study.datajpa.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import me.study.datajpa.entity.Member;
+import me.study.datajpa.repository.MemberJpaRepository;
+import me.study.datajpa.repository.MemberRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class RepositoryMetricsAspectTest {
+
+    @Autowired
+    MeterRegistry registry;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Test
+    public void recordsRepositoryInvocations() {
+
+        // Given
+        memberRepository.save(new Member("Member1", 10));
+        memberRepository.save(new Member("Member1", 20));
+
+        // When
+        memberRepository.findByUsername("Member1");
+        memberJpaRepository.findByUsername("Member1");
+
+        // Then
+        assertThat(registry.get("repository.invocations")
+                .tags("repository", "MemberRepository", "method", "findByUsername", "outcome", "success")
+                .timer().count()).isGreaterThanOrEqualTo(1);
+        assertThat(registry.get("repository.invocations")
+                .tags("repository", "MemberJpaRepository", "method", "findByUsername")
+                .timer().count()).isGreaterThanOrEqualTo(1);
+        assertThat(registry.get("repository.result.size")
+                .tags("repository", "MemberRepository", "method", "findByUsername")
+                .summary().max()).isGreaterThanOrEqualTo(2);
+    }
+}
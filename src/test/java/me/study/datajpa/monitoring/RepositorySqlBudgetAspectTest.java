@@ -0,0 +1,116 @@
+package me.study.datajpa.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import me.study.datajpa.entity.Member;
+import me.study.datajpa.repository.MemberRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.lang.reflect.Proxy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {"datajpa.sql-budget.fail-on-violation=true", "spring.jpa.hibernate.ddl-auto=update"})
+@Transactional
+class RepositorySqlBudgetAspectTest {
+
+    @Autowired
+    BudgetedRepository budgetedRepository;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MeterRegistry registry;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Test
+    public void enforcesRepositoryBudget() {
+
+        // Given
+        memberRepository.save(new Member("BudgetedMember", 10));
+        em.flush();
+
+        // When / Then
+        assertThat(budgetedRepository.findOnce("BudgetedMember")).isEqualTo(1);
+        assertThatThrownBy(() -> budgetedRepository.findTwice("BudgetedMember"))
+                .isInstanceOf(SqlBudgetExceededException.class);
+    }
+
+    @Test
+    public void countsStatementsOfUnbudgetedMethods() {
+
+        // When
+        memberRepository.findByUsername("UnbudgetedMember");
+
+        // Then
+        assertThat(registry.get("repository.sql.statements")
+                .tags("repository", "MemberRepository", "method", "findByUsername")
+                .summary().count()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    public void resolvesBudgetOnRepositoryInterface() throws Exception {
+
+        // Given
+        Class<?> proxyClass = Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{BudgetedMemberRepository.class}, (proxy, method, args) -> null).getClass();
+
+        // When
+        Class<?> repositoryType = RepositorySqlBudgetAspect.repositoryType(proxyClass);
+        SqlBudget budget = RepositorySqlBudgetAspect.findBudget(CrudRepository.class.getMethod("findAll"), repositoryType);
+
+        // Then
+        assertThat(repositoryType).isEqualTo(BudgetedMemberRepository.class);
+        assertThat(budget.maxStatements()).isEqualTo(1);
+    }
+
+    @SqlBudget(maxStatements = 1)
+    interface BudgetedMemberRepository extends JpaRepository<Member, Long> {
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        BudgetedRepository budgetedRepository() {
+            return new BudgetedRepository();
+        }
+    }
+
+    @Repository
+    @SqlBudget(maxStatements = 1)
+    static class BudgetedRepository {
+
+        @PersistenceContext
+        private EntityManager em;
+
+        public int findOnce(String username) {
+            return find(username);
+        }
+
+        public int findTwice(String username) {
+            find(username);
+            return find(username);
+        }
+
+        private int find(String username) {
+            return em.createQuery("select m from Member m where m.username = :username", Member.class)
+                    .setParameter("username", username)
+                    .getResultList()
+                    .size();
+        }
+    }
+}
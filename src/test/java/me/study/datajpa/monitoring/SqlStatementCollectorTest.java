@@ -0,0 +1,69 @@
+package me.study.datajpa.monitoring;
+
+import me.study.datajpa.entity.Member;
+import me.study.datajpa.entity.Team;
+import me.study.datajpa.repository.MemberRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class SqlStatementCollectorTest {
+
+    @Autowired
+    SqlStatementCollector collector;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Test
+    public void detectsRepeatedStatements() {
+
+        // Given
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Team team = new Team("Team" + i);
+            Member member = new Member("Member" + i, i, team);
+            em.persist(team);
+            em.persist(member);
+            ids.add(member.getId());
+        }
+        em.flush();
+        em.clear();
+        em.getEntityManagerFactory().getCache().evictAll();
+
+        // When
+        SqlStatistics perRow;
+        try (SqlStatementCollector.Scope scope = collector.open("perRow")) {
+            ids.forEach(id -> memberRepository.findById(id).get().getUsername());
+            perRow = scope.getStatistics();
+        }
+        em.clear();
+
+        SqlStatistics fetchJoin;
+        try (SqlStatementCollector.Scope scope = collector.open("fetchJoin")) {
+            List<Member> members = memberRepository.findMemberFetchJoin();
+            members.forEach(member -> member.getTeam().getName());
+            fetchJoin = scope.getStatistics();
+        }
+
+        // Then
+        assertThat(perRow.getStatementCount()).isEqualTo(5);
+        assertThat(perRow.getRepeatedShapes(3)).hasSize(1);
+        assertThat(fetchJoin.getStatementCount()).isEqualTo(1);
+        assertThat(fetchJoin.getRepeatedShapes(3)).isEmpty();
+        assertThat(fetchJoin.getRowCount()).isGreaterThanOrEqualTo(perRow.getRowCount());
+    }
+}
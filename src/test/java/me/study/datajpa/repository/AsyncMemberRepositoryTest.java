@@ -0,0 +1,64 @@
+package me.study.datajpa.repository;
+
+import me.study.datajpa.dto.MemberDto;
+import me.study.datajpa.entity.Member;
+import me.study.datajpa.entity.Team;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class AsyncMemberRepositoryTest {
+
+    @Autowired
+    AsyncMemberRepository asyncMemberRepository;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    TeamRepository teamRepository;
+
+    private final List<Member> createdMembers = new ArrayList<>();
+    private Team createdTeam;
+
+    @AfterEach
+    public void cleanUp() {
+        createdMembers.forEach(member -> memberRepository.deleteById(member.getId()));
+        if (createdTeam != null) {
+            teamRepository.deleteById(createdTeam.getId());
+        }
+    }
+
+    @Test
+    public void findsConcurrentlyOffCallerThread() {
+
+        // Given
+        createdTeam = teamRepository.save(new Team("AsyncTeam"));
+        for (int i = 0; i < 20; i++) {
+            createdMembers.add(memberRepository.save(new Member("AsyncMember" + i, i, createdTeam)));
+        }
+
+        // When
+        List<CompletableFuture<List<MemberDto>>> futures = createdMembers.stream()
+                .map(member -> asyncMemberRepository.findByUsername(member.getUsername()))
+                .collect(Collectors.toList());
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        Optional<MemberDto> byId = asyncMemberRepository.findById(createdMembers.get(0).getId()).join();
+
+        // Then
+        assertThat(futures).extracting(future -> future.join().get(0).getUsername())
+                .containsExactlyElementsOf(createdMembers.stream().map(Member::getUsername).collect(Collectors.toList()));
+        assertThat(futures).extracting(future -> future.join().get(0).getTeamName()).containsOnly("AsyncTeam");
+        assertThat(byId).map(MemberDto::getUsername).hasValue("AsyncMember0");
+    }
+}
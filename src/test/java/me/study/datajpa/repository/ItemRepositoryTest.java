@@ -1,9 +1,22 @@
 package me.study.datajpa.repository;
 
 import me.study.datajpa.entity.Item;
+import me.study.datajpa.monitoring.SqlStatementCollector;
+import me.study.datajpa.monitoring.SqlStatistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest
 class ItemRepositoryTest {
@@ -11,10 +24,105 @@ class ItemRepositoryTest {
     @Autowired
     ItemRepository itemRepository;
 
+    @Autowired
+    SqlStatementCollector collector;
+
+    @PersistenceContext
+    EntityManager em;
+
     @Test
     public void save() {
 
         Item item = new Item("A");
         itemRepository.save(item);
     }
-}
\ No newline at end of file
+
+    @Test
+    @Transactional
+    public void insertAllWithoutSelect() {
+
+        // Given
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            items.add(new Item("Insert" + i));
+        }
+
+        // When
+        SqlStatistics statistics;
+        try (SqlStatementCollector.Scope scope = collector.open("insertAll")) {
+            itemRepository.insertAll(items);
+            em.flush();
+            statistics = scope.getStatistics();
+        }
+
+        // Then
+        assertThat(statistics.getStatementCount()).isEqualTo(1);
+        assertThat(statistics.getStatementShapes().keySet()).allMatch(sql -> sql.startsWith("insert"));
+        assertThat(itemRepository.findAllById(Arrays.asList("Insert0", "Insert4"))).hasSize(2);
+    }
+
+    @Test
+    @Transactional
+    public void upsertAllInOneBatch() {
+
+        // Given
+        itemRepository.insert(new Item("Upsert0"));
+        em.flush();
+        em.clear();
+        long before = itemRepository.count();
+
+        // When
+        SqlStatistics statistics;
+        try (SqlStatementCollector.Scope scope = collector.open("upsertAll")) {
+            itemRepository.upsertAll(Arrays.asList(new Item("Upsert0"), new Item("Upsert1"), new Item("Upsert2")));
+            statistics = scope.getStatistics();
+        }
+
+        // Then
+        assertThat(statistics.getStatementCount()).isEqualTo(1);
+        assertThat(statistics.getStatementShapes().keySet()).allMatch(sql -> sql.startsWith("merge"));
+        assertThat(itemRepository.count()).isEqualTo(before + 2);
+    }
+
+    @Test
+    @Transactional
+    public void upsertKeepsInsertOnlyColumns() {
+
+        // Given
+        itemRepository.save(new Item("UpsertAudited"));
+        em.flush();
+        em.clear();
+        LocalDateTime createdDate = itemRepository.findById("UpsertAudited").get().getCreatedDate();
+
+        // When
+        itemRepository.upsertAll(Collections.singletonList(new Item("UpsertAudited")));
+        em.clear();
+
+        // Then
+        Item item = itemRepository.findById("UpsertAudited").get();
+        assertThat(createdDate).isNotNull();
+        assertThat(item.getCreatedDate()).isEqualTo(createdDate);
+        assertThat(item.isNew()).isFalse();
+    }
+
+    @Test
+    @Transactional
+    public void upsertStampsCreatedDate() {
+
+        // Given
+        Item item = itemRepository.upsert(new Item("UpsertThenSave"));
+        em.clear();
+
+        // When
+        itemRepository.save(item);
+        em.flush();
+        em.clear();
+
+        // Then
+        Object createdDate = em.createNativeQuery("select created_date from item where id = ?")
+                .setParameter(1, "UpsertThenSave")
+                .getSingleResult();
+        assertThat(item.isNew()).isFalse();
+        assertThat(createdDate).isNotNull();
+    }
+}
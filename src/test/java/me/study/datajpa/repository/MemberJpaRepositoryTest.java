@@ -19,6 +19,9 @@ class MemberJpaRepositoryTest {
     @Autowired
     MemberJpaRepository memberJpaRepository;
 
+    @Autowired
+    CountCache countCache;
+
     @Test
     public void testMember() {
         Member member = new Member("MemberA");
@@ -119,4 +122,17 @@ class MemberJpaRepositoryTest {
         // When
         assertThat(resultCount).isEqualTo(3);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void saveInvalidatesCountCache() {
+
+        // Given
+        countCache.getCount("MemberJpaRepositoryTest", false, () -> 1L);
+
+        // When
+        memberJpaRepository.save(new Member("CountInvalidatingMember"));
+
+        // Then
+        assertThat(countCache.getCount("MemberJpaRepositoryTest", false, () -> 2L)).isEqualTo(2L);
+    }
+}
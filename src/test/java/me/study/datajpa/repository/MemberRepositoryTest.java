@@ -1,9 +1,13 @@
 package me.study.datajpa.repository;
 
 import me.study.datajpa.dto.MemberDto;
+import me.study.datajpa.dto.MemberSearchCondition;
 import me.study.datajpa.entity.Member;
 import me.study.datajpa.entity.Team;
+import me.study.datajpa.monitoring.SqlStatementCollector;
+import me.study.datajpa.monitoring.SqlStatistics;
 import org.assertj.core.api.Assertions;
+import org.hibernate.Session;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -16,14 +20,20 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 
 @SpringBootTest
 @Transactional
@@ -36,6 +46,9 @@ class MemberRepositoryTest {
     @Autowired
     TeamRepository teamRepository;
 
+    @Autowired
+    SqlStatementCollector collector;
+
     @PersistenceContext
     private EntityManager em;
 
@@ -163,6 +176,39 @@ class MemberRepositoryTest {
         }
     }
 
+    @Test
+    @Rollback
+    public void findByNamesInPaddedChunks() {
+
+        // Given
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            String name = String.format("InListMember%04d", i);
+            em.persist(new Member(name, i % 100));
+            names.add(name);
+        }
+        names.addAll(names.subList(0, 10));
+        names.add("InListMemberUnknown");
+        em.flush();
+        em.clear();
+
+        // When
+        List<Member> result;
+        SqlStatistics statistics;
+        try (SqlStatementCollector.Scope scope = collector.open("inList")) {
+            result = memberRepository.findByNames(names);
+            statistics = scope.getStatistics();
+        }
+
+        // Then
+        assertThat(result).hasSize(2500);
+        assertThat(statistics.getStatementCount()).isEqualTo(3);
+        assertThat(statistics.getStatementShapes().values()).containsExactly(2, 1);
+        assertThat(statistics.getStatementShapes().keySet())
+                .extracting(sql -> sql.chars().filter(c -> c == '?').count())
+                .containsExactly(1024L, 512L);
+    }
+
     @Test
     public void returnType() {
 
@@ -257,6 +303,101 @@ class MemberRepositoryTest {
         assertThat(list.size()).isEqualTo(3);
     }
 
+    @Test
+    public void findKeysetPage() {
+
+        // Given
+        memberRepository.save(new Member("Member1", 10));
+        memberRepository.save(new Member("Member2", 10));
+        memberRepository.save(new Member("Member2", 10));
+        memberRepository.save(new Member("Member3", 10));
+        memberRepository.save(new Member("Member4", 10));
+        List<Member> unnamed = memberRepository.saveAll(Arrays.asList(new Member(null, 10), new Member(null, 10)));
+        em.flush();
+
+        try {
+            // When
+            List<Member> members = new ArrayList<>();
+            KeysetSlice<Member> slice = memberRepository.findKeysetPage(null, 2);
+            members.addAll(slice.getContent());
+            while (slice.hasNext()) {
+                slice = memberRepository.findKeysetPage(slice.getNextToken(), 2);
+                members.addAll(slice.getContent());
+            }
+
+            // Then
+            assertThat(members.size()).isEqualTo(memberRepository.count());
+            assertThat(members).doesNotHaveDuplicates();
+            assertThat(members).isSortedAccordingTo(Comparator.comparing(Member::getUsername,
+                    Comparator.nullsFirst(Comparator.<String>naturalOrder())).thenComparing(Member::getId));
+            assertThat(slice.isLast()).isTrue();
+            assertThat(KeysetCursor.decode(new KeysetCursor(null, 1L).encode()).getUsername()).isNull();
+            assertThat(KeysetCursor.decode(new KeysetCursor("null", 1L).encode()).getUsername()).isEqualTo("null");
+            assertThat(KeysetCursor.decode(new KeysetCursor("", 1L).encode()).getUsername()).isEmpty();
+        } finally {
+            memberRepository.deleteAll(unnamed);
+            em.flush();
+        }
+    }
+
+    @Test
+    public void findKeysetPageRejectsInvalidRequest() {
+
+        // When / Then
+        assertThatThrownBy(() -> memberRepository.findKeysetPage("not-a-token", 2))
+                .isInstanceOf(InvalidKeysetRequestException.class);
+        assertThatThrownBy(() -> memberRepository.findKeysetPage(null, 0))
+                .isInstanceOf(InvalidKeysetRequestException.class);
+    }
+
+    @Test
+    public void findMemberDtoPage() {
+
+        // Given
+        memberRepository.save(new Member("Member1", 10));
+        memberRepository.save(new Member("Member2", 10));
+        memberRepository.save(new Member("Member3", 10));
+        PageRequest pageRequest = PageRequest.of(0, 2, Sort.by(Sort.Direction.ASC, "username"));
+
+        // When
+        long total = memberRepository.findMemberDtoPage(pageRequest, false).getTotalElements();
+        memberRepository.save(new Member("Member4", 10));
+        Page<MemberDto> exact = memberRepository.findMemberDtoPage(pageRequest, false);
+        memberRepository.save(new Member("Member5", 10));
+        Page<MemberDto> estimated = memberRepository.findMemberDtoPage(pageRequest, true);
+
+        // Then
+        assertThat(total).isEqualTo(memberRepository.count() - 2);
+        assertThat(exact.getContent().size()).isEqualTo(2);
+        assertThat(exact.getTotalElements()).isEqualTo(total + 1);
+        assertThat(estimated.getTotalElements()).isEqualTo(total + 1);
+    }
+
+    @Test
+    public void streamAll() {
+
+        // Given
+        Team teamA = new Team("TeamA");
+        teamRepository.save(teamA);
+        memberRepository.save(new Member("Member1", 10, teamA));
+        memberRepository.save(new Member("Member2", 10, teamA));
+        memberRepository.save(new Member("Member3", 10));
+        em.flush();
+        em.clear();
+
+        // When
+        List<MemberDto> consumed = new ArrayList<>();
+        try (Stream<MemberDto> members = memberRepository.streamAll(2)) {
+            members.forEach(consumed::add);
+        }
+
+        // Then
+        assertThat(consumed.size()).isEqualTo(memberRepository.count());
+        assertThat(consumed).extracting("username", "teamName").contains(
+                tuple("Member1", "TeamA"), tuple("Member2", "TeamA"), tuple("Member3", null));
+        assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
     @Test
     public void bulkUpdate() {
 
@@ -279,6 +420,36 @@ class MemberRepositoryTest {
         assertThat(resultCount).isEqualTo(3);
     }
 
+    @Test
+    public void bulkUpdateInPlace() {
+
+        // Given
+        Team teamA = new Team("TeamA");
+        teamRepository.save(teamA);
+        Member member1 = memberRepository.save(new Member("Member1", 19, teamA));
+        Member member2 = memberRepository.save(new Member("Member2", 20, teamA));
+        Member member3 = memberRepository.save(new Member("Member3", 40, teamA));
+
+        // When
+        int resultCount = memberRepository.bulkAgePlusInPlace(20);
+
+        // Then
+        assertThat(resultCount).isGreaterThanOrEqualTo(2);
+        assertThat(member1.getAge()).isEqualTo(19);
+        assertThat(member2.getAge()).isEqualTo(21);
+        assertThat(member3.getAge()).isEqualTo(41);
+        assertThat(member1.getVersion()).isEqualTo(0L);
+        assertThat(member2.getVersion()).isEqualTo(1L);
+        assertThat(em.contains(teamA)).isTrue();
+        assertThat(em.contains(member2)).isTrue();
+        assertThat(em.unwrap(Session.class).isDirty()).isFalse();
+
+        em.clear();
+        Member reloaded = memberRepository.findById(member2.getId()).get();
+        assertThat(reloaded.getAge()).isEqualTo(21);
+        assertThat(reloaded.getVersion()).isEqualTo(1L);
+    }
+
     @Test
     public void findMemberLazy() {
 
@@ -430,6 +601,49 @@ class MemberRepositoryTest {
         Assertions.assertThat(result.size()).isEqualTo(1);
     }
 
+    @Test
+    @Rollback
+    public void searchReusesQueryPerShape() {
+
+        // Given
+        Team teamA = new Team("SearchTeamA");
+        Team teamB = new Team("SearchTeamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        em.persist(new Member("SearchMember1", 10, teamA));
+        em.persist(new Member("SearchMember2", 20, teamA));
+        em.persist(new Member("SearchMember3", 30, teamB));
+        em.flush();
+        em.clear();
+
+        MemberSearchCondition teamACondition = new MemberSearchCondition();
+        teamACondition.setTeamName("SearchTeamA");
+        teamACondition.setAgeGoe(15);
+        MemberSearchCondition teamBCondition = new MemberSearchCondition();
+        teamBCondition.setTeamName("SearchTeamB");
+        teamBCondition.setAgeGoe(0);
+        MemberSearchCondition usernameCondition = new MemberSearchCondition();
+        usernameCondition.setUsername("SearchMember1");
+
+        // When
+        List<Member> olderInTeamA;
+        List<Member> inTeamB;
+        List<Member> byUsername;
+        SqlStatistics statistics;
+        try (SqlStatementCollector.Scope scope = collector.open("search")) {
+            olderInTeamA = memberRepository.search(teamACondition);
+            inTeamB = memberRepository.search(teamBCondition);
+            byUsername = memberRepository.search(usernameCondition);
+            statistics = scope.getStatistics();
+        }
+
+        // Then
+        assertThat(olderInTeamA).extracting(Member::getUsername).containsExactly("SearchMember2");
+        assertThat(inTeamB).extracting(Member::getUsername).containsExactly("SearchMember3");
+        assertThat(byUsername).extracting(Member::getUsername).containsExactly("SearchMember1");
+        assertThat(statistics.getStatementShapes().values()).containsExactly(2, 1);
+    }
+
     @Test
     public void queryByExample() {
 
@@ -528,6 +742,32 @@ class MemberRepositoryTest {
         }
     }
 
+    @Test
+    public void compiledProjections() {
+
+        // Given
+        Team compiledTeam = new Team("CompiledTeam");
+        em.persist(compiledTeam);
+
+        em.persist(new Member("CompiledMember1", 51, compiledTeam));
+        em.persist(new Member("CompiledMember2", 52));
+
+        em.flush();
+        em.clear();
+
+        // When
+        List<UsernameOnly> usernames = memberRepository.findCompiledProjectionsByUsername("CompiledMember1", UsernameOnly.class);
+        List<NestedClosedProjections> withTeam = memberRepository.findCompiledProjectionsByUsername("CompiledMember1", NestedClosedProjections.class);
+        List<NestedClosedProjections> withoutTeam = memberRepository.findCompiledProjectionsByUsername("CompiledMember2", NestedClosedProjections.class);
+
+        // Then
+        assertThat(usernames).extracting(UsernameOnly::getUsername).containsExactly("CompiledMember1 51");
+        assertThat(withTeam).hasSize(1);
+        assertThat(withTeam.get(0).getUsername()).isEqualTo("CompiledMember1");
+        assertThat(withTeam.get(0).getTeam().getName()).isEqualTo("CompiledTeam");
+        assertThat(withoutTeam.get(0).getTeam()).isNull();
+    }
+
     @Test
     public void nestedClosedProjections() {
 
@@ -597,4 +837,20 @@ class MemberRepositoryTest {
             System.out.println("memberProjection.teamName = " + memberProjection.getTeamName());
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void countCacheInvalidationRegisteredOncePerTransaction() {
+
+        // Given
+        memberRepository.save(new Member("InvalidatorMember", 10));
+        int synchronizations = TransactionSynchronizationManager.getSynchronizations().size();
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            memberRepository.save(new Member("InvalidatorMember" + i, 10));
+        }
+
+        // Then
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).hasSize(synchronizations);
+    }
+}
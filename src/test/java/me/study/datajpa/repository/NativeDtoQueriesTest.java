@@ -0,0 +1,195 @@
+package me.study.datajpa.repository;
+
+import me.study.datajpa.dto.MemberDto;
+import me.study.datajpa.entity.Member;
+import me.study.datajpa.entity.Team;
+import me.study.datajpa.monitoring.SqlStatementCollector;
+import me.study.datajpa.monitoring.SqlStatistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class NativeDtoQueriesTest {
+
+    private static final String SQL = "select m.member_id as id, m.username, t.name as team_name" +
+            " from member m left join team t on m.team_id = t.team_id where m.username like ?";
+    private static final String COUNT_SQL = "select count(*) from member m where m.username like ?";
+
+    @Autowired
+    NativeDtoQueries nativeDtoQueries;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    SqlStatementCollector collector;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Test
+    public void mapsColumnsToConstructor() {
+
+        // Given
+        Team team = new Team("NativeTeam");
+        em.persist(team);
+        em.persist(new Member("NativeMember1", 10, team));
+        em.persist(new Member("NativeMember2", 20));
+
+        // When
+        List<MemberDto> result = nativeDtoQueries.list(SQL + " order by m.username", MemberDto.class, "NativeMember%");
+
+        // Then
+        assertThat(result).extracting(MemberDto::getUsername).containsExactly("NativeMember1", "NativeMember2");
+        assertThat(result).extracting(MemberDto::getTeamName).containsExactly("NativeTeam", null);
+        assertThat(result).allMatch(dto -> dto.getId() != null);
+    }
+
+    @Test
+    public void pagesWithDialectLimit() {
+
+        // Given
+        for (int i = 0; i < 5; i++) {
+            em.persist(new Member("NativePaged" + i, i));
+        }
+
+        // When
+        Page<MemberDto> page = nativeDtoQueries.page(SQL, COUNT_SQL,
+                PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "username")), MemberDto.class, "NativePaged%");
+        Page<MemberDto> repositoryPage = memberRepository.findNativeMemberDtoPage(PageRequest.of(0, 3, Sort.by("username")));
+
+        // Then
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(page.getContent()).extracting(MemberDto::getUsername).containsExactly("NativePaged2", "NativePaged1");
+        assertThat(repositoryPage.getContent()).hasSize(3);
+        assertThatThrownBy(() -> nativeDtoQueries.page(SQL, COUNT_SQL,
+                PageRequest.of(0, 2, Sort.by("username; drop table member")), MemberDto.class, "NativePaged%"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void pagesWithWindowCountInOneStatement() {
+
+        // Given
+        for (int i = 0; i < 5; i++) {
+            em.persist(new Member("NativeWindow" + i, i));
+        }
+        em.flush();
+
+        // When
+        Page<MemberDto> page;
+        SqlStatistics statistics;
+        try (SqlStatementCollector.Scope scope = collector.open("windowPage")) {
+            page = nativeDtoQueries.page(SQL + " order by m.username", PageRequest.of(0, 2, Sort.by("username")),
+                    MemberDto.class, "NativeWindow%");
+            page.getTotalElements();
+            statistics = scope.getStatistics();
+        }
+
+        SqlStatistics beyondLast;
+        Page<MemberDto> emptyPage;
+        try (SqlStatementCollector.Scope scope = collector.open("beyondLast")) {
+            emptyPage = nativeDtoQueries.page(SQL, PageRequest.of(5, 2), MemberDto.class, "NativeWindow%");
+            nativeDtoQueries.page(SQL, PageRequest.of(5, 2), MemberDto.class, "NativeWindow%");
+            beyondLast = scope.getStatistics();
+        }
+
+        Page<MemberDto> ownOrder = nativeDtoQueries.page(SQL + " order by m.username desc", PageRequest.of(0, 2),
+                MemberDto.class, "NativeWindow%");
+
+        // Then
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(page.getContent()).extracting(MemberDto::getUsername).containsExactly("NativeWindow0", "NativeWindow1");
+        assertThat(ownOrder.getContent()).extracting(MemberDto::getUsername).containsExactly("NativeWindow4", "NativeWindow3");
+        assertThat(ownOrder.getTotalElements()).isEqualTo(5);
+        assertThat(statistics.getStatementCount()).isEqualTo(1);
+        assertThat(emptyPage.getContent()).isEmpty();
+        assertThat(emptyPage.getTotalElements()).isEqualTo(5);
+        assertThat(beyondLast.getStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void pageSortReplacesCallerOrderBy() {
+
+        // Given
+        for (int i = 0; i < 3; i++) {
+            em.persist(new Member("NativeOrdered" + i, i));
+        }
+        em.flush();
+        String ordered = SQL + " order by coalesce(t.name, '') desc, lower(m.username) desc";
+
+        // When
+        Page<MemberDto> fallback = nativeDtoQueries.page(ordered, COUNT_SQL, PageRequest.of(0, 2, Sort.by("username")),
+                MemberDto.class, "NativeOrdered%");
+        Page<MemberDto> window = nativeDtoQueries.page(ordered, PageRequest.of(0, 2, Sort.by("username")),
+                MemberDto.class, "NativeOrdered%");
+
+        // Then
+        assertThat(fallback.getContent()).extracting(MemberDto::getUsername).containsExactly("NativeOrdered0", "NativeOrdered1");
+        assertThat(window.getContent()).extracting(MemberDto::getUsername).containsExactly("NativeOrdered0", "NativeOrdered1");
+        assertThat(window.getTotalElements()).isEqualTo(3);
+        assertThatThrownBy(() -> nativeDtoQueries.page(SQL + " order by lower(m.username", PageRequest.of(0, 2),
+                MemberDto.class, "NativeOrdered%"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void sortsOnlyByResultColumnLabels() {
+
+        // Given
+        for (int i = 0; i < 3; i++) {
+            em.persist(new Member("NativeLabel" + i, i));
+        }
+        em.flush();
+
+        // When
+        Page<MemberDto> fallback = nativeDtoQueries.page(SQL, COUNT_SQL, PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "team_name", "username")),
+                MemberDto.class, "NativeLabel%");
+        Page<MemberDto> window = nativeDtoQueries.page(SQL, PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "team_name", "username")),
+                MemberDto.class, "NativeLabel%");
+
+        // Then
+        assertThat(fallback.getContent()).extracting(MemberDto::getUsername).containsExactly("NativeLabel2", "NativeLabel1");
+        assertThat(window.getContent()).extracting(MemberDto::getUsername).containsExactly("NativeLabel2", "NativeLabel1");
+        assertThatThrownBy(() -> nativeDtoQueries.page(SQL, COUNT_SQL, PageRequest.of(0, 2, Sort.by("m.username")),
+                MemberDto.class, "NativeLabel%"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> nativeDtoQueries.page(SQL, PageRequest.of(0, 2, Sort.by("m.username")),
+                MemberDto.class, "NativeLabel%"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void nativeProjectionJoinsOnTeam() {
+
+        // Given
+        Team team = new Team("NativeJoinTeam");
+        em.persist(new Team("NativeJoinOtherTeam"));
+        em.persist(team);
+        em.persist(new Member("NativeJoinMember", 0, team));
+        em.flush();
+
+        // When
+        long members = memberRepository.count();
+        Page<MemberProjection> page = memberRepository.findByNativeProjection(PageRequest.of(0, 1000));
+
+        // Then
+        assertThat(page.getTotalElements()).isEqualTo(members);
+        assertThat(page.getContent()).hasSize((int) members);
+        assertThat(page.getContent()).filteredOn(projection -> "NativeJoinMember".equals(projection.getUsername()))
+                .extracting(MemberProjection::getTeamName).containsExactly("NativeJoinTeam");
+    }
+}
@@ -0,0 +1,79 @@
+package me.study.datajpa.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import me.study.datajpa.entity.Member;
+import me.study.datajpa.entity.Team;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class SecondLevelCacheTest {
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    TeamRepository teamRepository;
+
+    @Autowired
+    EntityManagerFactory emf;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    MeterRegistry registry;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @AfterEach
+    public void cleanUp() {
+        memberRepository.deleteAll(memberRepository.findByUsername("CachedMember"));
+        teamRepository.findAll().stream()
+                .filter(team -> "CachedTeam".equals(team.getName()))
+                .forEach(teamRepository::delete);
+    }
+
+    @Test
+    public void teamIsCachedById() {
+
+        // Given
+        Team team = teamRepository.save(new Team("CachedTeam"));
+        emf.getCache().evict(Team.class);
+
+        // When
+        teamRepository.findById(team.getId());
+
+        // Then
+        assertThat(emf.getCache().contains(Team.class, team.getId())).isTrue();
+        assertThat(registry.get("cache.puts").tags("cache", "team").functionCounter().count()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    public void bulkUpdateEvictsCachedMembers() {
+
+        // Given
+        Member member = memberRepository.save(new Member("CachedMember", 30));
+        memberRepository.findById(member.getId());
+        assertThat(emf.getCache().contains(Member.class, member.getId())).isTrue();
+
+        // When
+        transactionTemplate.execute(status -> em.createQuery("update Member m set m.age = m.age + 1 where m.username = :username")
+                .setParameter("username", "CachedMember")
+                .executeUpdate());
+
+        // Then
+        assertThat(emf.getCache().contains(Member.class, member.getId())).isFalse();
+        assertThat(memberRepository.findById(member.getId()).get().getAge()).isEqualTo(31);
+    }
+}
@@ -0,0 +1,149 @@
+package me.study.datajpa.repository;
+
+import me.study.datajpa.entity.Member;
+import me.study.datajpa.entity.Team;
+import me.study.datajpa.monitoring.SqlStatementCollector;
+import me.study.datajpa.monitoring.SqlStatistics;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Comparator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class TeamRepositoryTest {
+
+    @Autowired
+    TeamRepository teamRepository;
+
+    @Autowired
+    SqlStatementCollector collector;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Test
+    public void addingMembersDoesNotBumpTeamVersion() {
+
+        // Given
+        Team team = new Team("VersionedTeam");
+        em.persist(team);
+        em.flush();
+        Long version = team.getVersion();
+
+        // When
+        SqlStatistics statistics;
+        try (SqlStatementCollector.Scope scope = collector.open("addMembers")) {
+            em.persist(new Member("VersionedMember1", 10, team));
+            em.persist(new Member("VersionedMember2", 20, team));
+            em.flush();
+            statistics = scope.getStatistics();
+        }
+
+        // Then
+        assertThat(team.getVersion()).isEqualTo(version);
+        assertThat(statistics.getStatementShapes().keySet()).noneMatch(sql -> sql.startsWith("update team"));
+    }
+
+    @Test
+    public void findTeamSliceWithMembers() {
+
+        // Given
+        for (int i = 0; i < 3; i++) {
+            Team team = new Team("Team" + i);
+            em.persist(team);
+            em.persist(new Member("Member" + i + "A", 10, team));
+            em.persist(new Member("Member" + i + "B", 20, team));
+        }
+        em.flush();
+        em.clear();
+        em.getEntityManagerFactory().getCache().evictAll();
+
+        // When
+        Slice<Team> slice;
+        SqlStatistics statistics;
+        try (SqlStatementCollector.Scope scope = collector.open("teamSlice")) {
+            slice = teamRepository.findTeamSliceWithMembers(PageRequest.of(0, 2));
+            slice.forEach(team -> team.getMembers().forEach(Member::getUsername));
+            statistics = scope.getStatistics();
+        }
+
+        // Then
+        assertThat(slice.getContent()).hasSize(2);
+        assertThat(slice.hasNext()).isTrue();
+        assertThat(slice.getContent()).allMatch(team -> Hibernate.isInitialized(team.getMembers()));
+        assertThat(statistics.getStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void findTeamSliceWithMembersLargerThanBatchSize() {
+
+        // Given
+        for (int i = 0; i < 150; i++) {
+            Team team = new Team("LargeSliceTeam" + i);
+            em.persist(team);
+            em.persist(new Member("LargeSliceMember" + i, i, team));
+        }
+        em.flush();
+        em.clear();
+        em.getEntityManagerFactory().getCache().evictAll();
+
+        // When
+        Slice<Team> slice;
+        SqlStatistics statistics;
+        try (SqlStatementCollector.Scope scope = collector.open("largeTeamSlice")) {
+            slice = teamRepository.findTeamSliceWithMembers(PageRequest.of(0, 120));
+            slice.forEach(team -> team.getMembers().forEach(Member::getUsername));
+            statistics = scope.getStatistics();
+        }
+
+        // Then
+        assertThat(slice.getContent()).hasSize(120);
+        assertThat(slice.getContent()).allMatch(team -> Hibernate.isInitialized(team.getMembers()));
+        assertThat(statistics.getStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void findTeamPageWithMembers() {
+
+        // Given
+        for (int i = 0; i < 3; i++) {
+            Team team = new Team("PagedTeam" + i);
+            em.persist(team);
+            for (int j = 0; j < 3; j++) {
+                em.persist(new Member("PagedMember" + i + j, j, team));
+            }
+        }
+        em.flush();
+        em.clear();
+        long total = teamRepository.count();
+
+        // When
+        Page<Team> page;
+        SqlStatistics statistics;
+        try (SqlStatementCollector.Scope scope = collector.open("teamPage")) {
+            page = teamRepository.findTeamPageWithMembers(PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "name")));
+            page.forEach(team -> team.getMembers().forEach(Member::getUsername));
+            statistics = scope.getStatistics();
+        }
+
+        // Then
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getTotalElements()).isEqualTo(total);
+        assertThat(page.getContent()).extracting(Team::getName)
+                .isSortedAccordingTo(Comparator.reverseOrder());
+        assertThat(page.getContent()).allMatch(team -> Hibernate.isInitialized(team.getMembers()));
+        assertThat(statistics.getStatementCount()).isEqualTo(3);
+    }
+}
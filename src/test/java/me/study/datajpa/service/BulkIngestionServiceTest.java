@@ -0,0 +1,98 @@
+package me.study.datajpa.service;
+
+import me.study.datajpa.entity.Member;
+import me.study.datajpa.entity.Team;
+import me.study.datajpa.monitoring.SqlStatementCollector;
+import me.study.datajpa.monitoring.SqlStatistics;
+import me.study.datajpa.repository.CountCache;
+import me.study.datajpa.repository.MemberRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class BulkIngestionServiceTest {
+
+    @Autowired
+    BulkIngestionService bulkIngestionService;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    SqlStatementCollector collector;
+
+    @Autowired
+    CountCache countCache;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Test
+    public void ingest() {
+
+        // Given
+        long before = memberRepository.count();
+
+        List<Object> entities = new ArrayList<>();
+        Team teamA = new Team("TeamA");
+        Team teamB = new Team("TeamB");
+        entities.add(teamA);
+        entities.add(teamB);
+        for (int i = 0; i < 250; i++) {
+            entities.add(new Member("Member" + i, i, i % 2 == 0 ? teamA : teamB));
+        }
+
+        // When
+        IngestionResult result = bulkIngestionService.ingest(entities);
+
+        // Then
+        assertThat(result.getRows()).isEqualTo(252);
+        assertThat(result.getRowsPerSecond()).isPositive();
+        assertThat(em.contains(teamA)).isFalse();
+        assertThat(memberRepository.count()).isEqualTo(before + 250);
+    }
+
+    @Test
+    public void ingestBatchesInserts() {
+
+        // Given
+        List<Object> entities = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            entities.add(new Member("BatchedMember" + i, i));
+        }
+
+        // When
+        SqlStatistics statistics;
+        try (SqlStatementCollector.Scope scope = collector.open("ingest")) {
+            bulkIngestionService.ingest(entities);
+            statistics = scope.getStatistics();
+        }
+
+        // Then
+        int inserts = statistics.getStatementShapes().entrySet().stream()
+                .filter(shape -> shape.getKey().startsWith("insert into member"))
+                .mapToInt(Map.Entry::getValue)
+                .sum();
+        assertThat(inserts).isEqualTo(3);
+    }
+
+    @Test
+    public void rejectsNonPositiveFlushSize() {
+
+        // When / Then
+        assertThatThrownBy(() -> new BulkIngestionService(countCache, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,144 @@
+package me.study.datajpa.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import me.study.datajpa.entity.Member;
+import me.study.datajpa.repository.MemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "spring.jpa.hibernate.ddl-auto=update")
+class MemberServiceTest {
+
+    @Autowired
+    MemberService memberService;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    ConflictingAgeUpdater conflictingAgeUpdater;
+
+    @Autowired
+    MeterRegistry registry;
+
+    private final List<Long> created = new ArrayList<>();
+
+    @AfterEach
+    public void cleanUp() {
+        created.forEach(memberRepository::deleteById);
+    }
+
+    @Test
+    public void retriesAfterConcurrentCommit() throws Exception {
+
+        // Given
+        Member member = memberRepository.save(new Member("OptimisticMember", 0));
+        created.add(member.getId());
+        double retries = retryCount();
+
+        // When
+        int attempts = conflictingAgeUpdater.addAge(member.getId(), 1, 1);
+
+        // Then
+        Member result = memberRepository.findById(member.getId()).get();
+        assertThat(attempts).isEqualTo(2);
+        assertThat(result.getAge()).isEqualTo(101);
+        assertThat(result.getVersion()).isEqualTo(2L);
+        assertThat(retryCount()).isEqualTo(retries + 1);
+    }
+
+    @Test
+    public void givesUpAfterMaxAttempts() {
+
+        // Given
+        Member member = memberRepository.save(new Member("ConflictingMember", 0));
+        created.add(member.getId());
+
+        // When / Then
+        assertThatThrownBy(() -> conflictingAgeUpdater.addAge(member.getId(), 1, Integer.MAX_VALUE))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        Member result = memberRepository.findById(member.getId()).get();
+        assertThat(result.getAge()).isEqualTo(100 * ConflictingAgeUpdater.MAX_ATTEMPTS);
+    }
+
+    @Test
+    public void pessimisticUpdate() {
+
+        // Given
+        Member member = memberRepository.save(new Member("PessimisticMember", 0));
+        created.add(member.getId());
+
+        // When
+        memberService.addAgeWithLock("PessimisticMember", 1);
+        memberService.addAgeWithLock("PessimisticMember", 1);
+
+        // Then
+        assertThat(memberRepository.findById(member.getId()).get().getAge()).isEqualTo(2);
+    }
+
+    private double retryCount() {
+        return registry.counter("optimistic.lock.retries", "method", "ConflictingAgeUpdater.addAge").count();
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        ConflictingAgeUpdater conflictingAgeUpdater(MemberService memberService, MemberRepository memberRepository) {
+            return new ConflictingAgeUpdater(memberService, memberRepository);
+        }
+    }
+
+    static class ConflictingAgeUpdater {
+
+        static final int MAX_ATTEMPTS = 3;
+
+        private final MemberService memberService;
+        private final MemberRepository memberRepository;
+        private final Map<Long, Integer> attempts = new ConcurrentHashMap<>();
+
+        ConflictingAgeUpdater(MemberService memberService, MemberRepository memberRepository) {
+            this.memberService = memberService;
+            this.memberRepository = memberRepository;
+        }
+
+        @RetryOnOptimisticLock(maxAttempts = MAX_ATTEMPTS, backoffMillis = 0)
+        @Transactional
+        public int addAge(Long memberId, int delta, int conflictingAttempts) {
+            int attempt = attempts.merge(memberId, 1, Integer::sum);
+            Member member = memberRepository.findById(memberId).get();
+            if (attempt <= conflictingAttempts) {
+                commitConcurrently(memberId);
+            }
+            member.setAge(member.getAge() + delta);
+            return attempt;
+        }
+
+        private void commitConcurrently(Long memberId) {
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                executor.submit(() -> memberService.addAge(memberId, 100)).get();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+}
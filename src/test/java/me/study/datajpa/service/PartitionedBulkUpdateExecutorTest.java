@@ -0,0 +1,111 @@
+package me.study.datajpa.service;
+
+import me.study.datajpa.entity.Member;
+import me.study.datajpa.repository.BulkJobChunkRepository;
+import me.study.datajpa.repository.MemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"datajpa.bulk-update.chunk-size=100", "spring.jpa.hibernate.ddl-auto=update"})
+class PartitionedBulkUpdateExecutorTest {
+
+    private static final int BASE_AGE = 1_000_000;
+    private static final int MEMBERS = 250;
+
+    @Autowired
+    PartitionedBulkUpdateExecutor bulkUpdateExecutor;
+
+    @Autowired
+    MemberService memberService;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    BulkJobChunkRepository chunkRepository;
+
+    private final String jobName = "test-" + UUID.randomUUID();
+    private final List<Long> created = new ArrayList<>();
+
+    @AfterEach
+    public void cleanUp() {
+        created.forEach(memberRepository::deleteById);
+        chunkRepository.deleteAll(chunkRepository.findByJobNameOrderByFromId(jobName));
+    }
+
+    @Test
+    public void bulkAgePlusInChunks() {
+
+        // Given
+        createMembers("Partitioned");
+
+        // When
+        BulkJobProgress progress = memberService.bulkAgePlus(jobName, BASE_AGE);
+        BulkJobProgress rerun = memberService.bulkAgePlus(jobName, BASE_AGE);
+
+        // Then
+        assertThat(progress.isCompleted()).isTrue();
+        assertThat(progress.getTotalChunks()).isGreaterThan(1);
+        assertThat(progress.getUpdatedRows()).isEqualTo(MEMBERS);
+        assertThat(rerun.getUpdatedRows()).isEqualTo(MEMBERS);
+        assertThat(memberRepository.findAllById(created)).extracting(Member::getAge).containsOnly(BASE_AGE + 1);
+    }
+
+    @Test
+    public void resumesFailedChunks() {
+
+        // Given
+        createMembers("Resumable");
+        String update = "update versioned Member m set m.age = m.age + 1 + 0 * (1 / (m.id - :poisonId))" +
+                " where m.username like 'Resumable%' and m.id >= :fromId and m.id < :toId";
+
+        // When
+        BulkJobProgress failed = bulkUpdateExecutor.execute(jobName, "Member", update,
+                Collections.singletonMap("poisonId", created.get(MEMBERS / 2)));
+        BulkJobProgress resumed = bulkUpdateExecutor.execute(jobName, "Member", update,
+                Collections.singletonMap("poisonId", -1L));
+
+        // Then
+        assertThat(failed.isCompleted()).isFalse();
+        assertThat(failed.getFailedChunks()).isEqualTo(1);
+        assertThat(resumed.isCompleted()).isTrue();
+        assertThat(resumed.getUpdatedRows()).isEqualTo(MEMBERS);
+        assertThat(memberRepository.findAllById(created)).extracting(Member::getAge).containsOnly(BASE_AGE + 1);
+    }
+
+    @Test
+    public void resumeCoversRowsInsertedAfterPlanning() {
+
+        // Given
+        createMembers("Planned");
+        BulkJobProgress first = memberService.bulkAgePlus(jobName, BASE_AGE);
+        createMembers("Late");
+
+        // When
+        BulkJobProgress second = memberService.bulkAgePlus(jobName, BASE_AGE);
+
+        // Then
+        assertThat(first.isCompleted()).isTrue();
+        assertThat(second.isCompleted()).isTrue();
+        assertThat(second.getTotalChunks()).isGreaterThan(first.getTotalChunks());
+        assertThat(second.getUpdatedRows()).isEqualTo(2 * MEMBERS);
+        assertThat(memberRepository.findAllById(created)).extracting(Member::getAge).containsOnly(BASE_AGE + 1);
+    }
+
+    private void createMembers(String prefix) {
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < MEMBERS; i++) {
+            members.add(new Member(prefix + i, BASE_AGE));
+        }
+        memberRepository.saveAll(members).forEach(member -> created.add(member.getId()));
+    }
+}